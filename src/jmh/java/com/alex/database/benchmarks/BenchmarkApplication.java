@@ -0,0 +1,54 @@
+package com.alex.database.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.alex.database.DatabaseApplication;
+
+/**
+ * Boots {@link DatabaseApplication} against a private in-memory H2 database
+ * for benchmarks that need the real service and repository wiring. Set
+ * {@code BENCHMARK_DATASOURCE_URL} (plus {@code _USERNAME}/{@code _PASSWORD})
+ * to run against a real database instead; its tables are recreated. The
+ * reactive profile reads the same database over R2DBC, from
+ * {@code BENCHMARK_R2DBC_URL} when a real database is used.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... args) {
+        String url = System.getenv("BENCHMARK_DATASOURCE_URL");
+        String h2Database = UUID.randomUUID().toString();
+        String h2Options = "MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1";
+        List<String> arguments = new ArrayList<>(url != null
+                ? List.of(
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + System.getenv("BENCHMARK_DATASOURCE_USERNAME"),
+                        "--spring.datasource.password=" + System.getenv("BENCHMARK_DATASOURCE_PASSWORD"),
+                        "--spring.r2dbc.url=" + System.getenv("BENCHMARK_R2DBC_URL"),
+                        "--spring.r2dbc.username=" + System.getenv("BENCHMARK_DATASOURCE_USERNAME"),
+                        "--spring.r2dbc.password=" + System.getenv("BENCHMARK_DATASOURCE_PASSWORD"))
+                : List.of(
+                        "--spring.datasource.url=jdbc:h2:mem:" + h2Database + ";" + h2Options,
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///" + h2Database + "?options=" + h2Options,
+                        "--spring.r2dbc.username=sa",
+                        "--spring.r2dbc.password="));
+        arguments.add("--spring.jpa.hibernate.ddl-auto=create");
+        arguments.add("--logging.level.root=WARN");
+        arguments.addAll(Arrays.asList(args));
+        return new SpringApplicationBuilder(DatabaseApplication.class)
+                .web(webApplicationType)
+                .run(arguments.toArray(String[]::new));
+    }
+}
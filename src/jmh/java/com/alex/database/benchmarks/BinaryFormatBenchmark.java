@@ -0,0 +1,88 @@
+package com.alex.database.benchmarks;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.alex.database.domain.dto.AuthorDto;
+import com.alex.database.domain.dto.BookDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Encode and decode cost of a 1000-book page as JSON, CBOR and Smile, with
+ * mappers built the way the HTTP message converters build them. The encoded
+ * size per format is printed once per fork.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryFormatBenchmark {
+
+    // The parts of the serialized Page a client reads back.
+    public static class BookPage {
+        public List<BookDto> content;
+        public long totalElements;
+    }
+
+    @Param({ "json", "cbor", "smile" })
+    private String format;
+
+    @Param({ "1000" })
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private Page<BookDto> bookPage;
+
+    private byte[] encodedPage;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+
+        List<BookDto> books = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            AuthorDto author = AuthorDto.builder().id((long) i % 50).name("Author " + i % 50).age(30 + i % 40)
+                    .numberOfBooks(i % 7).build();
+            books.add(BookDto.builder().isbn("978-" + (1_000_000_000L + i)).title("Title " + i).author(author)
+                    .build());
+        }
+        bookPage = new PageImpl<>(books, PageRequest.of(0, pageSize), 100_000);
+        encodedPage = objectMapper.writeValueAsBytes(bookPage);
+        System.out.printf("%n%s page of %d books: %d bytes%n", format, pageSize, encodedPage.length);
+    }
+
+    @Benchmark
+    public byte[] encodeBookPage() throws IOException {
+        return objectMapper.writeValueAsBytes(bookPage);
+    }
+
+    @Benchmark
+    public BookPage decodeBookPage() throws IOException {
+        return objectMapper.readValue(encodedPage, BookPage.class);
+    }
+}
@@ -0,0 +1,85 @@
+package com.alex.database.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import com.alex.database.domain.entities.AuthorEntity;
+import com.alex.database.domain.entities.BookEntity;
+import com.alex.database.services.AuthorService;
+import com.alex.database.services.BookService;
+
+/**
+ * {@link BookService#findAll} against an embedded H2 database seeded with
+ * {@code books} rows spread over {@code authors} authors.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookServiceBenchmark {
+
+    @Param({ "10000" })
+    private int books;
+
+    @Param({ "100" })
+    private int authors;
+
+    @Param({ "20", "100" })
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+
+    private BookService bookService;
+
+    private int pages;
+
+    private int page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.NONE);
+        bookService = context.getBean(BookService.class);
+        AuthorService authorService = context.getBean(AuthorService.class);
+
+        AuthorEntity[] savedAuthors = new AuthorEntity[authors];
+        for (int i = 0; i < authors; i++) {
+            savedAuthors[i] = authorService.save(AuthorEntity.builder().name("Author " + i).age(20 + i % 60).build());
+        }
+        for (int i = 0; i < books; i++) {
+            String isbn = String.format("%013d", i);
+            bookService.createUpdateBook(isbn,
+                    BookEntity.builder().isbn(isbn).title("Title " + i).authorEntity(savedAuthors[i % authors]).build());
+        }
+        pages = books / pageSize;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<BookEntity> findAll() {
+        page = (page + 1) % pages;
+        return bookService.findAll(PageRequest.of(page, pageSize));
+    }
+}
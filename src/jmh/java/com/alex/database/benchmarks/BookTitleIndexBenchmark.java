@@ -0,0 +1,82 @@
+package com.alex.database.benchmarks;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alex.database.search.BookTitleIndex;
+
+/**
+ * Title search latency over a synthetic catalog. Titles are four words drawn
+ * from a Zipf-like vocabulary, so low word numbers are common and high ones
+ * rare, as in real titles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class BookTitleIndexBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+
+    @Param({ "3000000" })
+    private int titles;
+
+    private BookTitleIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new BookTitleIndex();
+        SplittableRandom random = new SplittableRandom(42);
+        Map<String, String> chunk = new HashMap<>();
+        for (int i = 0; i < titles; i++) {
+            chunk.put(String.valueOf(i), word(random) + " " + word(random) + " " + word(random) + " " + word(random));
+            if (chunk.size() == 10_000) {
+                index.putAll(chunk);
+                chunk.clear();
+            }
+        }
+        index.putAll(chunk);
+    }
+
+    @Benchmark
+    public List<BookTitleIndex.Hit> rareTerm() {
+        return index.search("w40000", 20);
+    }
+
+    @Benchmark
+    public List<BookTitleIndex.Hit> singleCommonTerm() {
+        return index.search("w1", 20);
+    }
+
+    @Benchmark
+    public List<BookTitleIndex.Hit> commonAndRareTerms() {
+        return index.search("w1 w40000", 20);
+    }
+
+    @Benchmark
+    public List<BookTitleIndex.Hit> twoMidFrequencyTerms() {
+        return index.search("w100 w200", 20);
+    }
+
+    // Word rank roughly inversely proportional to frequency.
+    private static String word(SplittableRandom random) {
+        return "w" + (int) Math.pow(VOCABULARY, random.nextDouble());
+    }
+}
@@ -0,0 +1,78 @@
+package com.alex.database.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.alex.database.domain.dto.AuthorDto;
+import com.alex.database.domain.dto.BookDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Jackson serialization cost of the response bodies, using the same
+ * ObjectMapper defaults Spring MVC applies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({ "20", "1000" })
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private AuthorDto authorDto;
+
+    private BookDto bookDto;
+
+    private Page<BookDto> bookPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        authorDto = AuthorDto.builder().id(1L).name("Alex").age(40).numberOfBooks(3).build();
+        bookDto = BookDto.builder().isbn("978-0134685991").title("Effective Java").author(authorDto).build();
+
+        List<BookDto> books = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            books.add(BookDto.builder().isbn(String.valueOf(i)).title("Title " + i).author(authorDto).build());
+        }
+        bookPage = new PageImpl<>(books, PageRequest.of(0, pageSize), 100_000);
+    }
+
+    @Benchmark
+    public byte[] serializeAuthorDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(authorDto);
+    }
+
+    @Benchmark
+    public byte[] serializeBookDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookDto);
+    }
+
+    @Benchmark
+    public byte[] serializeBookPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookPage);
+    }
+}
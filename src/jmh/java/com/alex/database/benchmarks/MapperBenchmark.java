@@ -0,0 +1,92 @@
+package com.alex.database.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.alex.database.domain.dto.AuthorDto;
+import com.alex.database.domain.dto.BookDto;
+import com.alex.database.domain.entities.AuthorEntity;
+import com.alex.database.domain.entities.BookEntity;
+import com.alex.database.mappers.Mapper;
+import com.alex.database.mappers.impl.AuthorMapperImpl;
+import com.alex.database.mappers.impl.BookMapperImpl;
+
+/**
+ * Compares the hand-written mappers against the ModelMapper (LOOSE matching)
+ * configuration they replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private ModelMapper modelMapper;
+
+    private Mapper<AuthorEntity, AuthorDto> authorMapper;
+
+    private Mapper<BookEntity, BookDto> bookMapper;
+
+    private AuthorEntity authorEntity;
+
+    private BookEntity bookEntity;
+
+    private BookDto bookDto;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.LOOSE);
+        authorMapper = new AuthorMapperImpl();
+        bookMapper = new BookMapperImpl(authorMapper);
+
+        authorEntity = AuthorEntity.builder().id(1L).name("Alex").age(40).numberOfBooks(3).build();
+        bookEntity = BookEntity.builder().isbn("978-0134685991").title("Effective Java").authorEntity(authorEntity)
+                .build();
+        bookDto = bookMapper.mapTo(bookEntity);
+    }
+
+    @Benchmark
+    public AuthorDto authorMapTo() {
+        return authorMapper.mapTo(authorEntity);
+    }
+
+    @Benchmark
+    public AuthorDto authorMapToModelMapper() {
+        return modelMapper.map(authorEntity, AuthorDto.class);
+    }
+
+    @Benchmark
+    public BookDto bookMapTo() {
+        return bookMapper.mapTo(bookEntity);
+    }
+
+    @Benchmark
+    public BookDto bookMapToModelMapper() {
+        return modelMapper.map(bookEntity, BookDto.class);
+    }
+
+    @Benchmark
+    public BookEntity bookMapFrom() {
+        return bookMapper.mapFrom(bookDto);
+    }
+
+    @Benchmark
+    public BookEntity bookMapFromModelMapper() {
+        return modelMapper.map(bookDto, BookEntity.class);
+    }
+}
@@ -0,0 +1,120 @@
+package com.alex.database.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.alex.database.domain.entities.AuthorEntity;
+import com.alex.database.domain.entities.BookEntity;
+import com.alex.database.services.AuthorService;
+import com.alex.database.services.BookService;
+
+/**
+ * The MVC {@code BookController} on JDBC versus the reactive profile's
+ * handlers on R2DBC, over real HTTP from 512 concurrent clients. Each stack
+ * gets {@code poolSize} database connections. Throughput mode gives requests
+ * per second, SampleTime mode the latency distribution including p99.
+ * <p>
+ * Seed data is written through the JPA services in both cases. The read
+ * cache is disabled so every MVC request reaches the database, as every
+ * reactive one does. The H2 stand-in shares one in-process engine between
+ * both drivers; run against PostgreSQL (see {@link BenchmarkApplication}) for
+ * numbers that reflect network I/O.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(512)
+@State(Scope.Benchmark)
+public class ReactiveReadLoadBenchmark {
+
+    @Param({ "mvc", "reactive" })
+    private String stack;
+
+    @Param({ "10" })
+    private int poolSize;
+
+    @Param({ "1000" })
+    private int books;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private HttpRequest[] bookRequests;
+
+    private HttpRequest[] pageRequests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean reactive = stack.equals("reactive");
+        context = BenchmarkApplication.start(reactive ? WebApplicationType.REACTIVE : WebApplicationType.SERVLET,
+                "--spring.profiles.active=" + (reactive ? "reactive" : "default"),
+                "--server.port=0",
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--spring.datasource.hikari.minimum-idle=" + poolSize,
+                "--spring.r2dbc.pool.initial-size=" + poolSize,
+                "--spring.r2dbc.pool.max-size=" + poolSize,
+                "--spring.cache.type=none");
+        BookService bookService = context.getBean(BookService.class);
+        AuthorEntity author = context.getBean(AuthorService.class)
+                .save(AuthorEntity.builder().name("Author").age(40).build());
+
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        bookRequests = new HttpRequest[books];
+        for (int i = 0; i < books; i++) {
+            String isbn = String.format("%013d", i);
+            bookService.createUpdateBook(isbn,
+                    BookEntity.builder().isbn(isbn).title("Title " + i).authorEntity(author).build());
+            bookRequests[i] = HttpRequest.newBuilder(URI.create(baseUrl + "/books/" + isbn)).GET().build();
+        }
+        pageRequests = new HttpRequest[books / 20];
+        for (int page = 0; page < pageRequests.length; page++) {
+            pageRequests[page] = HttpRequest.newBuilder(URI.create(baseUrl + "/books?size=20&sort=isbn&page=" + page))
+                    .GET()
+                    .build();
+        }
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getBook() throws IOException, InterruptedException {
+        HttpRequest request = bookRequests[ThreadLocalRandom.current().nextInt(bookRequests.length)];
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int listBooks() throws IOException, InterruptedException {
+        HttpRequest request = pageRequests[ThreadLocalRandom.current().nextInt(pageRequests.length)];
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
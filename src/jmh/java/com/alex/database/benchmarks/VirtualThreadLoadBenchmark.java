@@ -0,0 +1,104 @@
+package com.alex.database.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.alex.database.domain.entities.AuthorEntity;
+import com.alex.database.domain.entities.BookEntity;
+import com.alex.database.services.AuthorService;
+import com.alex.database.services.BookService;
+
+/**
+ * {@code GET /books/{isbn}} over real HTTP from 512 concurrent clients, with
+ * Tomcat on its platform-thread pool versus virtual threads and the Hikari
+ * pool fixed at {@code poolSize} connections. Throughput mode gives requests
+ * per second, SampleTime mode the latency distribution including p99.
+ * <p>
+ * The read cache is disabled so every request reaches the database. H2 pins
+ * virtual threads inside its own synchronized blocks, so run against
+ * PostgreSQL (see {@link BenchmarkApplication}) for numbers that mean
+ * anything.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(512)
+@State(Scope.Benchmark)
+public class VirtualThreadLoadBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean virtualThreads;
+
+    @Param({ "10" })
+    private int poolSize;
+
+    @Param({ "1000" })
+    private int books;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private HttpRequest[] requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(WebApplicationType.SERVLET,
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--spring.datasource.hikari.minimum-idle=" + poolSize,
+                "--spring.cache.type=none");
+        BookService bookService = context.getBean(BookService.class);
+        AuthorEntity author = context.getBean(AuthorService.class)
+                .save(AuthorEntity.builder().name("Author").age(40).build());
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        requests = new HttpRequest[books];
+        for (int i = 0; i < books; i++) {
+            String isbn = String.format("%013d", i);
+            bookService.createUpdateBook(isbn,
+                    BookEntity.builder().isbn(isbn).title("Title " + i).authorEntity(author).build());
+            requests[i] = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/books/" + isbn))
+                    .GET()
+                    .build();
+        }
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getBook() throws IOException, InterruptedException {
+        HttpRequest request = requests[ThreadLocalRandom.current().nextInt(requests.length)];
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,151 @@
+package com.alex.database.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The requests a load test can mix, each drawn at random over the seeded
+ * {@link Catalog}.
+ */
+enum Endpoint {
+
+    GET_BOOK("getBook") {
+        @Override
+        HttpRequest.Builder request(URI base, Catalog catalog, RandomGenerator random) {
+            return get(base, "/books/" + catalog.isbn(random.nextInt(catalog.books())));
+        }
+    },
+    LIST_BOOKS("listBooks") {
+        @Override
+        HttpRequest.Builder request(URI base, Catalog catalog, RandomGenerator random) {
+            return get(base, "/books?size=20&page=" + random.nextInt(catalog.books() / 20));
+        }
+    },
+    SEARCH_BOOKS("searchBooks") {
+        @Override
+        HttpRequest.Builder request(URI base, Catalog catalog, RandomGenerator random) {
+            String query = Catalog.word(random) + " " + Catalog.word(random);
+            return get(base, "/books/search?q=" + URLEncoder.encode(query, StandardCharsets.UTF_8));
+        }
+    },
+    PUT_BOOK("putBook") {
+        @Override
+        HttpRequest.Builder request(URI base, Catalog catalog, RandomGenerator random) {
+            int book = random.nextInt(catalog.books());
+            return HttpRequest.newBuilder(base.resolve("/books/" + catalog.isbn(book)))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(catalog.bookJson(book, random)));
+        }
+    },
+    GET_AUTHOR("getAuthor") {
+        @Override
+        HttpRequest.Builder request(URI base, Catalog catalog, RandomGenerator random) {
+            return get(base, "/authors/" + catalog.authorId(random.nextInt(catalog.authors())));
+        }
+    },
+    SUGGEST_AUTHORS("suggestAuthors") {
+        @Override
+        HttpRequest.Builder request(URI base, Catalog catalog, RandomGenerator random) {
+            String name = catalog.authorName(random.nextInt(catalog.authors()));
+            String prefix = name.substring(0, Math.min(name.length(), 2 + random.nextInt(3)));
+            return get(base, "/authors/suggest?prefix=" + URLEncoder.encode(prefix, StandardCharsets.UTF_8));
+        }
+    },
+    AUTHORS_BY_AGE("authorsByAge") {
+        @Override
+        HttpRequest.Builder request(URI base, Catalog catalog, RandomGenerator random) {
+            int minAge = 20 + random.nextInt(60);
+            return get(base, "/authors?size=20&minAge=" + minAge + "&maxAge=" + (minAge + 5));
+        }
+    };
+
+    private final String displayName;
+
+    Endpoint(String displayName) {
+        this.displayName = displayName;
+    }
+
+    String displayName() {
+        return displayName;
+    }
+
+    abstract HttpRequest.Builder request(URI base, Catalog catalog, RandomGenerator random);
+
+    static Endpoint named(String displayName) {
+        return Arrays.stream(values()).filter(endpoint -> endpoint.displayName.equals(displayName)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint " + displayName + ", expected one of "
+                        + Arrays.stream(values()).map(Endpoint::displayName).toList()));
+    }
+
+    private static HttpRequest.Builder get(URI base, String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).GET();
+    }
+
+    /**
+     * What the load test seeded: books {@code 0..books-1} and the ids and
+     * names of the authors they are spread over.
+     */
+    record Catalog(long[] authorIds, String[] authorNames, int[] authorAges, int books) {
+
+        private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+        private static final String[] WORDS = { "java", "spring", "data", "cloud", "systems", "design", "patterns",
+                "performance", "database", "reactive", "concurrency", "distributed", "modern", "practical", "effective",
+                "clean", "architecture", "streams", "testing", "security" };
+
+        static String word(RandomGenerator random) {
+            return WORDS[random.nextInt(WORDS.length)];
+        }
+
+        static String title(int book, RandomGenerator random) {
+            return word(random) + " " + word(random) + " " + word(random) + " " + book;
+        }
+
+        int authors() {
+            return authorIds.length;
+        }
+
+        long authorId(int author) {
+            return authorIds[author];
+        }
+
+        String authorName(int author) {
+            return authorNames[author];
+        }
+
+        String isbn(int book) {
+            return String.format("%013d", book);
+        }
+
+        // Books keep their seeded author, so updates change titles but not book counts.
+        int authorOf(int book) {
+            return book % authorIds.length;
+        }
+
+        String bookJson(int book, RandomGenerator random) {
+            int author = authorOf(book);
+            try {
+                return OBJECT_MAPPER.writeValueAsString(new BookJson(isbn(book), title(book, random),
+                        new AuthorJson(authorIds[author], authorNames[author], authorAges[author])));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private record BookJson(String isbn, @JsonProperty("book_title") String title,
+                AuthorJson author) {
+        }
+
+        private record AuthorJson(long id, @JsonProperty("author_name") String name,
+                int age) {
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.alex.database.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Outcome of one load test run, saved as JSON. Latencies are measured from
+ * each request's scheduled start, so time a request spent waiting behind a
+ * slow predecessor counts against it.
+ */
+record LoadReport(int rate, double measuredSeconds, String mix, Map<String, EndpointResult> endpoints) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    // Throughput counts successful responses only.
+    record EndpointResult(long requests, long errors, double throughput, double p50Millis, double p99Millis,
+            double p999Millis, double maxMillis) {
+
+        static EndpointResult of(Histogram latencies, long errors, double measuredSeconds) {
+            return new EndpointResult(latencies.getTotalCount(), errors,
+                    (latencies.getTotalCount() - errors) / measuredSeconds,
+                    millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getValueAtPercentile(99.9)), millis(latencies.getMaxValue()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        OBJECT_MAPPER.writeValue(path.toFile(), this);
+    }
+
+    static LoadReport read(Path path) throws IOException {
+        return OBJECT_MAPPER.readValue(path.toFile(), LoadReport.class);
+    }
+
+    String format() {
+        StringBuilder table = new StringBuilder(String.format("%-16s %10s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+        endpoints.forEach((endpoint, result) -> table.append(String.format(
+                "%-16s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", endpoint, result.requests(), result.errors(),
+                result.throughput(), result.p50Millis(), result.p99Millis(), result.p999Millis(), result.maxMillis())));
+        return table.toString();
+    }
+
+    /**
+     * Describes each endpoint's change against the baseline and returns the
+     * ones whose throughput fell or p99 rose by more than
+     * {@code maxRegressionPercent} (none when it is negative).
+     */
+    List<String> compareTo(LoadReport baseline, double maxRegressionPercent, StringBuilder description) {
+        if (baseline.rate != rate || !baseline.mix.equals(mix)) {
+            description.append(String.format("Baseline ran at %d req/s with mix %s; deltas are not like for like.%n",
+                    baseline.rate, baseline.mix));
+        }
+        description.append(String.format("%-16s %12s %12s%n", "endpoint", "req/s", "p99"));
+        List<String> regressions = new ArrayList<>();
+        endpoints.forEach((endpoint, result) -> {
+            EndpointResult before = baseline.endpoints.get(endpoint);
+            if (before == null) {
+                description.append(String.format("%-16s %25s%n", endpoint, "(not in baseline)"));
+                return;
+            }
+            double throughputChange = percentChange(before.throughput(), result.throughput());
+            double p99Change = percentChange(before.p99Millis(), result.p99Millis());
+            description.append(String.format("%-16s %+11.1f%% %+11.1f%%%n", endpoint, throughputChange, p99Change));
+            if (maxRegressionPercent >= 0 && (-throughputChange > maxRegressionPercent
+                    || p99Change > maxRegressionPercent)) {
+                regressions.add(endpoint);
+            }
+        });
+        return regressions;
+    }
+
+    private static double percentChange(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100 / before;
+    }
+}
@@ -0,0 +1,260 @@
+package com.alex.database.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.alex.database.DatabaseApplication;
+import com.alex.database.domain.entities.AuthorEntity;
+import com.alex.database.domain.entities.BookEntity;
+import com.alex.database.services.AuthorService;
+import com.alex.database.services.BookService;
+
+/**
+ * Open-model HTTP load test of the book and author endpoints.
+ * <p>
+ * Boots {@link DatabaseApplication} on a random port against a private
+ * in-memory H2 database, or the database in {@code LOADTEST_DATASOURCE_URL}
+ * (plus {@code _USERNAME}/{@code _PASSWORD}; its tables are recreated), and
+ * seeds books and authors through the services. Requests are then started at
+ * a fixed {@code --rate} per second, whatever the response times, each on its
+ * own virtual thread, with the endpoint drawn from {@code --mix}. Latency is
+ * taken from the scheduled start rather than the actual send, so a stalled
+ * server shows up in the percentiles instead of silently lowering the offered
+ * load (coordinated omission).
+ * <p>
+ * Writes the per-endpoint report to {@code --result} and each latency
+ * distribution next to it ({@code .hgrm}), and compares the run with
+ * {@code --baseline} if it exists. {@code --save-baseline=true} replaces the
+ * baseline with this run; {@code --max-regression=<percent>} exits with 1
+ * when an endpoint's throughput or p99 is that much worse than the baseline.
+ * See the {@code loadtest} profile in the pom.
+ */
+public final class LoadTest {
+
+    // Responses slower than a minute are clamped to it.
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private final LoadTestOptions options;
+
+    private final Map<Endpoint, Recorder> latencies = new EnumMap<>(Endpoint.class);
+
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+        options.mix().keySet().forEach(endpoint -> {
+            latencies.put(endpoint, new Recorder(HIGHEST_TRACKABLE_NANOS, 3));
+            errors.put(endpoint, new LongAdder());
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LoadReport report;
+        try (ConfigurableApplicationContext context = start(options.applicationArguments())) {
+            Endpoint.Catalog catalog = seed(context, options.books(), options.authors());
+            URI base = URI.create("http://localhost:"
+                    + ((WebServerApplicationContext) context).getWebServer().getPort());
+            report = new LoadTest(options).run(base, catalog);
+        }
+
+        System.out.printf("%nOffered %d req/s for %s after %s of warmup%n%s", options.rate(), options.duration(),
+                options.warmup(), report.format());
+        report.write(options.result());
+        System.out.println("Report written to " + options.result());
+
+        List<String> regressions = List.of();
+        if (Files.exists(options.baseline())) {
+            StringBuilder comparison = new StringBuilder();
+            regressions = report.compareTo(LoadReport.read(options.baseline()), options.maxRegressionPercent(),
+                    comparison);
+            System.out.printf("%nAgainst the baseline %s:%n%s", options.baseline(), comparison);
+        }
+        if (options.saveBaseline()) {
+            report.write(options.baseline());
+            System.out.println("Saved as the new baseline " + options.baseline());
+        }
+        if (!regressions.isEmpty()) {
+            System.out.println("Regressed beyond " + options.maxRegressionPercent() + "%: " + regressions);
+            System.exit(1);
+        }
+    }
+
+    private LoadReport run(URI base, Endpoint.Catalog catalog) throws InterruptedException, IOException {
+        Endpoint[] schedule = weightedSchedule(options.mix());
+        long interval = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup().toNanos();
+        long end = measureFrom + options.duration().toNanos();
+        long maxSendLag = 0;
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .build();
+        for (long i = 0;; i++) {
+            long scheduled = start + i * interval;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else if (scheduled >= measureFrom) {
+                maxSendLag = Math.max(maxSendLag, -wait);
+            }
+            Endpoint endpoint = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+            HttpRequest request = endpoint.request(base, catalog, ThreadLocalRandom.current())
+                    .timeout(options.timeout())
+                    .build();
+            boolean measured = scheduled >= measureFrom;
+            executor.execute(() -> send(httpClient, endpoint, request, scheduled, measured));
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(options.timeout().toMillis() + 1000, TimeUnit.MILLISECONDS)) {
+            System.out.println("Abandoned requests still running after " + options.timeout());
+            executor.shutdownNow();
+        }
+        if (maxSendLag > TimeUnit.MILLISECONDS.toNanos(10)) {
+            System.out.printf("The load generator fell up to %d ms behind its schedule; the offered rate was "
+                    + "not sustained%n", TimeUnit.NANOSECONDS.toMillis(maxSendLag));
+        }
+
+        double measuredSeconds = options.duration().toNanos() / 1e9;
+        Map<String, LoadReport.EndpointResult> results = new LinkedHashMap<>();
+        for (Endpoint endpoint : options.mix().keySet()) {
+            Histogram histogram = latencies.get(endpoint).getIntervalHistogram();
+            writeDistribution(endpoint, histogram);
+            results.put(endpoint.displayName(),
+                    LoadReport.EndpointResult.of(histogram, errors.get(endpoint).sum(), measuredSeconds));
+        }
+        String mix = options.mix().entrySet().stream()
+                .map(entry -> entry.getKey().displayName() + "=" + entry.getValue())
+                .collect(Collectors.joining(","));
+        return new LoadReport(options.rate(), measuredSeconds, mix, results);
+    }
+
+    private void send(HttpClient httpClient, Endpoint endpoint, HttpRequest request, long scheduled,
+            boolean measured) {
+        boolean failed;
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            failed = response.statusCode() >= 400;
+        } catch (IOException e) {
+            failed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (measured) {
+            latencies.get(endpoint).recordValue(Math.min(System.nanoTime() - scheduled, HIGHEST_TRACKABLE_NANOS));
+            if (failed) {
+                errors.get(endpoint).increment();
+            }
+        }
+    }
+
+    private void writeDistribution(Endpoint endpoint, Histogram histogram) throws IOException {
+        String name = options.result().getFileName().toString().replaceFirst("\\.json$", "");
+        Path path = options.result().resolveSibling(name + "-" + endpoint.displayName() + ".hgrm");
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(path))) {
+            histogram.outputPercentileDistribution(out, 1_000_000.0);
+        }
+    }
+
+    // One slot per unit of weight, so a uniform pick follows the mix.
+    private static Endpoint[] weightedSchedule(Map<Endpoint, Integer> mix) {
+        List<Endpoint> slots = new ArrayList<>();
+        mix.forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(endpoint);
+            }
+        });
+        return slots.toArray(Endpoint[]::new);
+    }
+
+    private static ConfigurableApplicationContext start(List<String> applicationArguments) {
+        String url = System.getenv("LOADTEST_DATASOURCE_URL");
+        List<String> arguments = new ArrayList<>(url != null
+                ? List.of(
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + System.getenv("LOADTEST_DATASOURCE_USERNAME"),
+                        "--spring.datasource.password=" + System.getenv("LOADTEST_DATASOURCE_PASSWORD"))
+                : List.of(
+                        "--spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID()
+                                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver"));
+        arguments.add("--spring.jpa.hibernate.ddl-auto=create");
+        arguments.add("--server.port=0");
+        arguments.add("--logging.level.root=WARN");
+        arguments.addAll(applicationArguments);
+        return new SpringApplicationBuilder(DatabaseApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(arguments.toArray(String[]::new));
+    }
+
+    private static Endpoint.Catalog seed(ConfigurableApplicationContext context, int books, int authors) {
+        AuthorService authorService = context.getBean(AuthorService.class);
+        BookService bookService = context.getBean(BookService.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        long[] authorIds = new long[authors];
+        String[] authorNames = new String[authors];
+        int[] authorAges = new int[authors];
+        AuthorEntity[] savedAuthors = new AuthorEntity[authors];
+        for (int i = 0; i < authors; i++) {
+            authorNames[i] = Endpoint.Catalog.word(random) + " " + Endpoint.Catalog.word(random) + " " + i;
+            authorAges[i] = 20 + random.nextInt(70);
+            savedAuthors[i] = authorService.save(AuthorEntity.builder().name(authorNames[i]).age(authorAges[i]).build());
+            authorIds[i] = savedAuthors[i].getId();
+        }
+
+        Endpoint.Catalog catalog = new Endpoint.Catalog(authorIds, authorNames, authorAges, books);
+        for (int from = 0; from < books; from += SEED_BATCH_SIZE) {
+            List<BookEntity> batch = new ArrayList<>(SEED_BATCH_SIZE);
+            for (int book = from; book < Math.min(from + SEED_BATCH_SIZE, books); book++) {
+                batch.add(BookEntity.builder()
+                        .isbn(catalog.isbn(book))
+                        .title(Endpoint.Catalog.title(book, random))
+                        .authorEntity(savedAuthors[catalog.authorOf(book)])
+                        .build());
+            }
+            bookService.createUpdateBooks(batch);
+        }
+        return catalog;
+    }
+}
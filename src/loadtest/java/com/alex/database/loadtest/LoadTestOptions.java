@@ -0,0 +1,92 @@
+package com.alex.database.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Command line of {@link LoadTest}, as {@code --name=value} pairs. Arguments
+ * it does not know (e.g. {@code --spring.threads.virtual.enabled=true}) are
+ * passed on to the application under test.
+ */
+record LoadTestOptions(
+        int rate,
+        Duration warmup,
+        Duration duration,
+        Map<Endpoint, Integer> mix,
+        int books,
+        int authors,
+        Duration timeout,
+        Path result,
+        Path baseline,
+        boolean saveBaseline,
+        double maxRegressionPercent,
+        List<String> applicationArguments) {
+
+    static final String DEFAULT_MIX = "getBook=45,listBooks=10,searchBooks=10,getAuthor=10,suggestAuthors=10,"
+            + "authorsByAge=5,putBook=10";
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        List<String> applicationArguments = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.isBlank()) {
+                continue;
+            }
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, equals);
+            if (name.contains(".")) {
+                applicationArguments.add(arg);
+            } else {
+                values.put(name, arg.substring(equals + 1));
+            }
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("rate", "200")),
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "60s")),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Integer.parseInt(values.getOrDefault("books", "10000")),
+                Integer.parseInt(values.getOrDefault("authors", "1000")),
+                DurationStyle.detectAndParse(values.getOrDefault("timeout", "30s")),
+                Path.of(values.getOrDefault("result", "target/loadtest-result.json")),
+                Path.of(values.getOrDefault("baseline", "src/loadtest/baseline.json")),
+                Boolean.parseBoolean(values.getOrDefault("save-baseline", "false")),
+                Double.parseDouble(values.getOrDefault("max-regression", "-1")),
+                List.copyOf(applicationArguments));
+        values.keySet().removeAll(List.of("rate", "warmup", "duration", "mix", "books", "authors", "timeout",
+                "result", "baseline", "save-baseline", "max-regression"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + values.keySet());
+        }
+        if (options.rate < 1 || options.books < 20 || options.authors < 1) {
+            throw new IllegalArgumentException("rate and authors must be positive and books at least 20");
+        }
+        return options;
+    }
+
+    // "getBook=60,putBook=5": relative weights by endpoint name.
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                weights.put(Endpoint.named(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no endpoints: " + mix);
+        }
+        return weights;
+    }
+}
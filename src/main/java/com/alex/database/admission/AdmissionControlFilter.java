@@ -0,0 +1,136 @@
+package com.alex.database.admission;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admission control in front of the book and author endpoints. Reads
+ * ({@code GET}/{@code HEAD}) and writes run in separate bulkheads of
+ * {@code app.admission.read-limit} and {@code app.admission.write-limit}
+ * concurrent requests, so a burst of writes cannot take the permits reads
+ * need. A request that finds its bulkhead full is answered at once with 503
+ * and {@code Retry-After} instead of queueing for a connection.
+ * <p>
+ * The write bulkhead is sized below the connection pool, so writes alone
+ * cannot exhaust it and always leave connections for reads. Pool saturation
+ * ({@link ConnectionPoolMonitor}) therefore sheds reads only: a write storm
+ * is stopped by its own bulkhead and never turns away the reads queued
+ * behind it.
+ * <p>
+ * Rejections are counted in {@code app.admission.rejected} by
+ * {@code bulkhead} and {@code reason}; {@code app.admission.in-flight} gauges
+ * the admitted requests. Streaming exports release their permit once the
+ * response goes asynchronous. Title search and author suggestions are served
+ * from in-memory indexes, need no connection, and are not admission controlled.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private static final Set<String> IN_MEMORY_PATHS = Set.of("/books/search", "/authors/suggest");
+
+    private final ConnectionPoolMonitor connectionPoolMonitor;
+
+    private final Bulkhead reads;
+
+    private final Bulkhead writes;
+
+    private final String retryAfterSeconds;
+
+    public AdmissionControlFilter(ConnectionPoolMonitor connectionPoolMonitor, MeterRegistry meterRegistry,
+            @Value("${app.admission.read-limit:200}") int readLimit,
+            @Value("${app.admission.write-limit:5}") int writeLimit,
+            @Value("${app.admission.retry-after:1s}") Duration retryAfter,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize) {
+        if (writeLimit >= maximumPoolSize) {
+            log.warn("app.admission.write-limit ({}) is not below the connection pool size ({}): "
+                    + "concurrent writes can take every connection and starve reads", writeLimit, maximumPoolSize);
+        }
+        this.connectionPoolMonitor = connectionPoolMonitor;
+        this.reads = new Bulkhead("read", readLimit, meterRegistry);
+        this.writes = new Bulkhead("write", writeLimit, meterRegistry);
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return IN_MEMORY_PATHS.contains(path) || !(path.equals("/books") || path.startsWith("/books/")
+                || path.equals("/authors") || path.startsWith("/authors/"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String method = request.getMethod();
+        Bulkhead bulkhead = HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) ? reads : writes;
+        if (bulkhead == reads && connectionPoolMonitor.isSaturated()) {
+            reject(response, bulkhead.rejectedSaturated);
+            return;
+        }
+        if (!bulkhead.permits.tryAcquire()) {
+            reject(response, bulkhead.rejectedFull);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.permits.release();
+        }
+    }
+
+    private void reject(HttpServletResponse response, Counter rejected) {
+        rejected.increment();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+    }
+
+    private static final class Bulkhead {
+
+        private final Semaphore permits;
+
+        private final Counter rejectedFull;
+
+        private final Counter rejectedSaturated;
+
+        Bulkhead(String name, int limit, MeterRegistry meterRegistry) {
+            this.permits = new Semaphore(limit);
+            Gauge.builder("app.admission.in-flight", permits, semaphore -> limit - semaphore.availablePermits())
+                    .description("Requests admitted and not yet completed")
+                    .tag("bulkhead", name)
+                    .register(meterRegistry);
+            this.rejectedFull = rejected(name, "bulkhead-full", meterRegistry);
+            this.rejectedSaturated = rejected(name, "pool-saturated", meterRegistry);
+        }
+
+        private static Counter rejected(String name, String reason, MeterRegistry meterRegistry) {
+            return Counter.builder("app.admission.rejected")
+                    .description("Requests answered with 503 by admission control")
+                    .tag("bulkhead", name)
+                    .tag("reason", reason)
+                    .register(meterRegistry);
+        }
+    }
+}
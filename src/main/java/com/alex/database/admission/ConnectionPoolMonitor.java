@@ -0,0 +1,161 @@
+package com.alex.database.admission;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Samples the Hikari pools every {@code app.admission.sample-interval-ms} and
+ * decides whether any of them is saturated: more than
+ * {@code app.admission.max-threads-awaiting-connection} threads queued for a
+ * connection, or a mean connection acquire time over the last interval above
+ * {@code app.admission.max-pool-wait}. The acquire times come from Hikari's
+ * {@code hikaricp.connections.acquire} timer of each pool. The state is
+ * published as the {@code app.admission.pool.saturated} gauge.
+ * <p>
+ * Every {@code HikariDataSource} bean is watched, so with replica routing a
+ * saturated replica sheds reads just like a saturated primary.
+ * <p>
+ * Sampling runs on a thread of its own rather than on the shared
+ * {@code @Scheduled} thread, where a long job such as the book-count
+ * reconciliation would stall it for as long as it runs. Without a Hikari
+ * pool the pool is never reported saturated.
+ */
+@Component
+public class ConnectionPoolMonitor implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPoolMonitor.class);
+
+    private final ObjectProvider<HikariDataSource> dataSources;
+
+    private final MeterRegistry meterRegistry;
+
+    private final long sampleIntervalMs;
+
+    private final int maxThreadsAwaitingConnection;
+
+    private final Duration maxPoolWait;
+
+    private volatile boolean saturated;
+
+    private volatile ScheduledExecutorService sampler;
+
+    public ConnectionPoolMonitor(ObjectProvider<HikariDataSource> dataSources, MeterRegistry meterRegistry,
+            @Value("${app.admission.sample-interval-ms:100}") long sampleIntervalMs,
+            @Value("${app.admission.max-threads-awaiting-connection:10}") int maxThreadsAwaitingConnection,
+            @Value("${app.admission.max-pool-wait:100ms}") Duration maxPoolWait) {
+        this.dataSources = dataSources;
+        this.meterRegistry = meterRegistry;
+        this.sampleIntervalMs = sampleIntervalMs;
+        this.maxThreadsAwaitingConnection = maxThreadsAwaitingConnection;
+        this.maxPoolWait = maxPoolWait;
+        Gauge.builder("app.admission.pool.saturated", this, monitor -> monitor.isSaturated() ? 1 : 0)
+                .description("1 while a connection pool is saturated and requests are being shed")
+                .register(meterRegistry);
+    }
+
+    public boolean isSaturated() {
+        return saturated;
+    }
+
+    @Override
+    public void start() {
+        List<PoolSampler> pools = dataSources.orderedStream().map(PoolSampler::new).toList();
+        if (pools.isEmpty()) {
+            return;
+        }
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> sample(pools), sampleIntervalMs, sampleIntervalMs,
+                TimeUnit.MILLISECONDS);
+        sampler = executor;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = sampler;
+        if (executor != null) {
+            executor.shutdownNow();
+            sampler = null;
+        }
+        saturated = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return sampler != null;
+    }
+
+    private void sample(List<PoolSampler> pools) {
+        boolean anySaturated = false;
+        for (PoolSampler pool : pools) {
+            anySaturated |= pool.sample();
+        }
+        saturated = anySaturated;
+    }
+
+    // Acquire counters of one pool; only touched by the sampling thread.
+    private final class PoolSampler {
+
+        private final HikariDataSource dataSource;
+
+        private long lastAcquireCount;
+
+        private double lastAcquireNanos;
+
+        private boolean saturated;
+
+        PoolSampler(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        boolean sample() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            if (pool == null) {
+                return false;
+            }
+
+            long acquireCount = 0;
+            double acquireNanos = 0;
+            for (Timer timer : meterRegistry.find("hikaricp.connections.acquire")
+                    .tag("pool", dataSource.getPoolName()).timers()) {
+                acquireCount += timer.count();
+                acquireNanos += timer.totalTime(TimeUnit.NANOSECONDS);
+            }
+            long acquired = acquireCount - lastAcquireCount;
+            double meanWaitNanos = acquired > 0 ? (acquireNanos - lastAcquireNanos) / acquired : 0;
+            lastAcquireCount = acquireCount;
+            lastAcquireNanos = acquireNanos;
+
+            int awaiting = pool.getThreadsAwaitingConnection();
+            boolean nowSaturated = awaiting > maxThreadsAwaitingConnection
+                    || meanWaitNanos > maxPoolWait.toNanos();
+            if (nowSaturated != saturated) {
+                log.warn("Connection pool {} {}: {} threads awaiting a connection, mean acquire time {} ms",
+                        dataSource.getPoolName(), nowSaturated ? "saturated" : "recovered", awaiting,
+                        TimeUnit.NANOSECONDS.toMillis((long) meanWaitNanos));
+            }
+            saturated = nowSaturated;
+            return nowSaturated;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.alex.database.concurrent;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Reads a cache through by hand. Concurrent misses of one key coalesce in a
+ * {@link SingleFlight}, named after the cache, and the loader runs outside the
+ * cache, so no cache lock is held for a database round trip.
+ *
+ * <p>Loading outside the cache lets a load that read a row before a write
+ * committed store its value after that write's eviction. Every eviction
+ * therefore bumps a generation before it evicts, and a load that sees the
+ * generation move while it ran evicts what it has just stored. This can drop
+ * a fresh value, never keep a stale one.
+ *
+ * <p>Evictions requested inside a transaction run once it has committed and
+ * are dropped on rollback; outside one they run at once.
+ */
+public class ReadThroughCache<K, V> {
+
+    private final Cache cache;
+
+    private final SingleFlight<K, Optional<V>> loads;
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ReadThroughCache(Cache cache, Duration loadTimeout, MeterRegistry meterRegistry) {
+        this.cache = cache;
+        this.loads = new SingleFlight<>(cache.getName(), loadTimeout, meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Optional<V> get(K key, Supplier<Optional<V>> loader) {
+        Cache.ValueWrapper cached = cache.get(key);
+        if (cached != null) {
+            return Optional.ofNullable((V) cached.get());
+        }
+        return loads.load(key, () -> {
+            long generation = evictions.get();
+            Optional<V> value = loader.get();
+            cache.put(key, value.orElse(null));
+            if (evictions.get() != generation) {
+                cache.evict(key);
+            }
+            return value;
+        });
+    }
+
+    public void evictAfterCommit(K key) {
+        afterCommit(() -> {
+            evictions.incrementAndGet();
+            cache.evict(key);
+        });
+    }
+
+    public void clearAfterCommit() {
+        afterCommit(() -> {
+            evictions.incrementAndGet();
+            cache.clear();
+        });
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+}
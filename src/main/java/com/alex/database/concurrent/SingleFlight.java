@@ -0,0 +1,93 @@
+package com.alex.database.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.QueryTimeoutException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Coalesces concurrent loads of the same key into one.
+ *
+ * <p>The first caller for a key runs the loader on its own thread; callers
+ * arriving while it runs wait for its result instead of loading again, and
+ * are counted in {@code app.single-flight.coalesced}. A failed load is
+ * rethrown to every waiting caller. Waiters give up after the timeout with a
+ * {@link QueryTimeoutException}; the load itself carries on for the first
+ * caller. The flight ends with the load, so the next caller loads afresh.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+
+    private final String name;
+
+    private final Duration timeout;
+
+    private final Counter coalescedCounter;
+
+    private final Counter timeoutCounter;
+
+    public SingleFlight(String name, Duration timeout, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.timeout = timeout;
+        this.coalescedCounter = Counter.builder("app.single-flight.coalesced")
+                .description("Calls that waited for a concurrent load of the same key instead of loading it")
+                .tag("flight", name)
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("app.single-flight.timeouts")
+                .description("Coalesced calls that gave up waiting for the concurrent load")
+                .tag("flight", name)
+                .register(meterRegistry);
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            coalescedCounter.increment();
+            return await(key, inFlight);
+        }
+
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    private V await(K key, CompletableFuture<V> inFlight) {
+        try {
+            return inFlight.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeoutCounter.increment();
+            throw new QueryTimeoutException(
+                    "Gave up after " + timeout.toMillis() + " ms waiting for the " + name + " load of " + key, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new DataRetrievalFailureException("The " + name + " load of " + key + " failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataRetrievalFailureException("Interrupted waiting for the " + name + " load of " + key, e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.alex.database.config;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.alex.database.concurrent.ReadThroughCache;
+import com.alex.database.domain.entities.AuthorEntity;
+import com.alex.database.domain.entities.BookEntity;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read-through caches in front of {@code BookService.findOne},
+ * {@code AuthorService.findOne} and {@code AuthorService.ageHistogram}, sized
+ * and expired by {@code spring.cache.caffeine.spec}.
+ * <p>
+ * Writes evict only after their transaction has committed. The histogram
+ * load uses {@code sync = true}, so concurrent misses of one bucket width
+ * share a single query.
+ * <p>
+ * The {@code findOne} lookups read through their cache by hand, with a
+ * {@link ReadThroughCache} each: concurrent misses of one key coalesce in
+ * front of the cache, so waiters are counted and time out instead of queueing
+ * inside the cache's load, and the load runs outside the cache. Writes to
+ * books and authors evict through the same {@code ReadThroughCache}, which
+ * keeps a load that raced an eviction from storing a stale value. Cached
+ * books are served with the author from the authors cache, so a write evicts
+ * the keys it changed and nothing else.
+ */
+@Configuration
+@EnableCaching(order = 0)
+public class CacheConfig {
+
+    public static final String BOOKS_CACHE = "books";
+
+    public static final String AUTHORS_CACHE = "authors";
+
+    // Keyed by bucket width; every write that can add, remove or re-age an author clears it.
+    public static final String AUTHOR_AGE_HISTOGRAMS_CACHE = "authorAgeHistograms";
+
+    @Bean
+    public ReadThroughCache<String, BookEntity> booksReadThroughCache(CacheManager cacheManager,
+            MeterRegistry meterRegistry, @Value("${app.single-flight.timeout:2s}") Duration loadTimeout) {
+        return new ReadThroughCache<>(cache(cacheManager, BOOKS_CACHE), loadTimeout, meterRegistry);
+    }
+
+    @Bean
+    public ReadThroughCache<Long, AuthorEntity> authorsReadThroughCache(CacheManager cacheManager,
+            MeterRegistry meterRegistry, @Value("${app.single-flight.timeout:2s}") Duration loadTimeout) {
+        return new ReadThroughCache<>(cache(cacheManager, AUTHORS_CACHE), loadTimeout, meterRegistry);
+    }
+
+    // Cleared by hand where a write adds, removes or re-ages an author; clears wait for the commit.
+    @Bean
+    public Cache authorAgeHistogramsCache(CacheManager cacheManager) {
+        return new TransactionAwareCacheDecorator(cache(cacheManager, AUTHOR_AGE_HISTOGRAMS_CACHE));
+    }
+
+    private static Cache cache(CacheManager cacheManager, String name) {
+        return Objects.requireNonNull(cacheManager.getCache(name), "No cache named " + name);
+    }
+}
@@ -0,0 +1,51 @@
+package com.alex.database.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.alex.database.controllers.ReactiveReadHandler;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * The {@code reactive} profile runs the application on WebFlux and serves the
+ * high-fan-out reads ({@code GET /books}, {@code /books/{isbn}} and
+ * {@code /authors/{id}}) with R2DBC against the same schema. The MVC
+ * controllers only exist in a servlet application, so every other endpoint,
+ * including all writes, stays on instances without this profile. See
+ * {@code application-reactive.properties}.
+ * <p>
+ * Boot's JDBC {@code DataSource} auto-configuration backs off once an R2DBC
+ * {@code ConnectionFactory} exists, which would leave the JPA services and
+ * repositories without a database. The pool configured by
+ * {@code spring.datasource.*} is therefore declared here (or by
+ * {@link ReplicaRoutingConfig} when a replica is configured).
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveReadConfig {
+
+    @Bean
+    @ConditionalOnExpression("'${app.datasource.replica.url:}'.isEmpty()")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveReadRoutes(ReactiveReadHandler handler) {
+        return RouterFunctions.route()
+                .GET("/books", handler::listBooks)
+                .GET("/books/{isbn}", handler::getBook)
+                .GET("/authors/{id}", handler::getAuthor)
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.alex.database.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.alex.database.routing.ReadYourWritesFilter;
+import com.alex.database.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Read-replica routing, enabled by setting {@code app.datasource.replica.url}
+ * (plus {@code .username}/{@code .password}; pool settings under
+ * {@code app.datasource.replica.hikari}).
+ * <p>
+ * The application's {@code DataSource} becomes a
+ * {@link LazyConnectionDataSourceProxy}: connections are fetched on the first
+ * statement, once the transaction's read-only flag is known. Connections of
+ * {@code @Transactional(readOnly = true)} methods come from the replica,
+ * everything else from the primary configured by {@code spring.datasource.*}.
+ * {@link ReadYourWritesFilter} pins a client's reads to the primary for
+ * {@code app.datasource.replica.read-your-writes-window} after it writes.
+ * <p>
+ * Cached lookups are loaded from the replica as well. A miss served by a
+ * replica that has not yet applied a write caches the older row until the
+ * entry is evicted or expires, and other clients read that row meanwhile. A
+ * pinned client does not: its {@code findOne} lookups skip the cache and the
+ * coalesced loads and read the primary directly, since the pin is a thread
+ * local that neither another caller's load nor an async cache loader carries.
+ */
+@Configuration
+@ConditionalOnProperty("app.datasource.replica.url")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        ReplicaRoutingDataSource readOnlyDataSource = new ReplicaRoutingDataSource(primaryDataSource,
+                replicaDataSource);
+        readOnlyDataSource.afterPropertiesSet();
+        dataSource.setReadOnlyDataSource(readOnlyDataSource);
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${app.datasource.replica.read-your-writes-window:5s}") Duration window) {
+        return new ReadYourWritesFilter(window);
+    }
+}
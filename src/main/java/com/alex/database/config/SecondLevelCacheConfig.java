@@ -0,0 +1,38 @@
+package com.alex.database.config;
+
+import java.net.URI;
+import java.util.UUID;
+
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gives each application context its own JCache {@code CacheManager} for the
+ * Hibernate second-level cache. Left to itself, Hibernate uses the provider's
+ * JVM-wide default manager and closes it when its session factory closes,
+ * which would break every other context still using it.
+ * <p>
+ * The manager reads the same {@code application.conf} as the default one, and
+ * Hibernate still closes it on shutdown.
+ */
+@Configuration
+@ConditionalOnProperty("spring.jpa.properties.hibernate.javax.cache.provider")
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(
+            @Value("${spring.jpa.properties.hibernate.javax.cache.provider}") String providerClassName) {
+        return properties -> {
+            CachingProvider provider = Caching.getCachingProvider(providerClassName);
+            properties.put(ConfigSettings.CACHE_MANAGER, provider.getCacheManager(
+                    URI.create("urn:hibernate-l2:" + UUID.randomUUID()), provider.getDefaultClassLoader()));
+        };
+    }
+}
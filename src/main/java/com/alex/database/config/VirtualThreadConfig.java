@@ -0,0 +1,53 @@
+package com.alex.database.config;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Opt-in virtual-thread request execution ({@code spring.threads.virtual.enabled=true},
+ * see the {@code virtual-threads} profile).
+ * <p>
+ * On Java 21 a virtual thread that blocks inside a {@code synchronized} block
+ * pins its carrier thread. The PostgreSQL driver (42.6+) and HikariCP (5.1+)
+ * use {@code java.util.concurrent} locks on their I/O paths, but Caffeine runs
+ * a synchronous loader inside a {@code ConcurrentHashMap} bin lock, so
+ * {@code @Cacheable(sync = true)} misses would hold a monitor for a whole
+ * JDBC round trip. The caches are switched to async mode here so loads run on
+ * their own virtual thread and callers merely wait on a future.
+ * {@link VirtualThreadPinningMonitor} reports any pinning that remains.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> virtualThreadCacheManagerCustomizer(
+            CacheProperties cacheProperties) {
+        return cacheManager -> {
+            String spec = cacheProperties.getCaffeine().getSpec();
+            Caffeine<Object, Object> caffeine = StringUtils.hasText(spec) ? Caffeine.from(spec) : Caffeine.newBuilder();
+            cacheManager.setCaffeine(caffeine.executor(Executors.newVirtualThreadPerTaskExecutor()));
+            cacheManager.setAsyncCacheMode(true);
+        };
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(MeterRegistry meterRegistry,
+            @Value("${app.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+    }
+}
@@ -1,14 +1,24 @@
 package com.alex.database.controllers;
 
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import com.alex.database.domain.dto.AgeBucketDto;
 import com.alex.database.domain.dto.AuthorDto;
+import com.alex.database.domain.dto.AuthorSuggestionDto;
+import com.alex.database.search.AuthorNameTrie;
 import com.alex.database.domain.entities.AuthorEntity;
 import com.alex.database.mappers.Mapper;
 import com.alex.database.services.AuthorService;
+import com.alex.database.services.AuthorSuggestService;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -17,24 +27,41 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AuthorController {
 
+    private static final int MAX_AGE_BUCKET_WIDTH = 100;
+
     private final AuthorService authorService;
 
+    private final AuthorSuggestService authorSuggestService;
+
     private final Mapper<AuthorEntity, AuthorDto> authorMapper;
 
-    public AuthorController(AuthorService authorService, Mapper<AuthorEntity, AuthorDto> authorMapper) {
+    private final ObjectMapper objectMapper;
+
+    public AuthorController(AuthorService authorService, AuthorSuggestService authorSuggestService,
+            Mapper<AuthorEntity, AuthorDto> authorMapper, ObjectMapper objectMapper) {
         this.authorService = authorService;
+        this.authorSuggestService = authorSuggestService;
         this.authorMapper = authorMapper;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/authors")
     public ResponseEntity<AuthorDto> createAuthor(@RequestBody AuthorDto author) {
         AuthorEntity authorEntity = authorMapper.mapFrom(author);
         AuthorEntity savedAuthorEntity = authorService.save(authorEntity);
-        return new ResponseEntity<>(authorMapper.mapTo(savedAuthorEntity), HttpStatus.CREATED);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(ETags.of(savedAuthorEntity))
+                .body(authorMapper.mapTo(savedAuthorEntity));
     }
 
     @GetMapping("/authors")
@@ -44,41 +71,104 @@ public class AuthorController {
         return authors.stream().map(authorMapper::mapTo).collect(Collectors.toList());
     }
 
+    @GetMapping(value = "/authors", params = "minAge")
+    public ResponseEntity<Page<AuthorDto>> listAuthorsByAge(
+            @RequestParam("minAge") Integer minAge,
+            @RequestParam(value = "maxAge", required = false) Integer maxAge,
+            @PageableDefault(sort = { "age", "id" }) Pageable pageable) {
+        if (maxAge != null && minAge > maxAge) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        Page<AuthorDto> authors = authorService.findAllByAge(minAge, maxAge, pageable).map(authorMapper::mapTo);
+        return new ResponseEntity<>(authors, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/authors", params = { "maxAge", "!minAge" })
+    public ResponseEntity<Page<AuthorDto>> listAuthorsUpToAge(
+            @RequestParam("maxAge") Integer maxAge,
+            @PageableDefault(sort = { "age", "id" }) Pageable pageable) {
+        Page<AuthorDto> authors = authorService.findAllByAge(null, maxAge, pageable).map(authorMapper::mapTo);
+        return new ResponseEntity<>(authors, HttpStatus.OK);
+    }
+
+    // One aggregate query per bucket width, cached until the next author write.
+    @GetMapping("/authors/age-histogram")
+    public ResponseEntity<List<AgeBucketDto>> getAgeHistogram(
+            @RequestParam(value = "bucketWidth", defaultValue = "10") int bucketWidth) {
+        if (bucketWidth < 1 || bucketWidth > MAX_AGE_BUCKET_WIDTH) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(authorService.ageHistogram(bucketWidth), HttpStatus.OK);
+    }
+
+    // Typeahead over author name words, served from the in-memory trie.
+    @GetMapping("/authors/suggest")
+    public ResponseEntity<List<AuthorSuggestionDto>> suggestAuthors(@RequestParam("prefix") String prefix,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        if (limit < 1 || limit > AuthorNameTrie.MAX_SUGGESTIONS) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        List<AuthorSuggestionDto> suggestions = authorSuggestService.suggest(prefix, limit).stream()
+                .map(suggestion -> new AuthorSuggestionDto(suggestion.id(), suggestion.name(),
+                        suggestion.numberOfBooks()))
+                .toList();
+        return new ResponseEntity<>(suggestions, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/authors/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportAuthors() {
+        StreamingResponseBody body = outputStream -> {
+            NdjsonWriter writer = new NdjsonWriter(objectMapper.writer(), outputStream);
+            authorService.exportAll(author -> writer.write(authorMapper.mapTo(author)));
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/authors/{id}")
-    public ResponseEntity<AuthorDto> getAuthor(@PathVariable("id") Long id) {
+    public ResponseEntity<AuthorDto> getAuthor(@PathVariable("id") Long id, WebRequest request) {
         Optional<AuthorEntity> foundAuthor = authorService.findOne(id);
-        return foundAuthor.map(authorEntity -> {
-            AuthorDto authorDto = authorMapper.mapTo(authorEntity);
-            return new ResponseEntity<>(authorDto, HttpStatus.OK);
-        }).orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        if (foundAuthor.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        String eTag = ETags.of(foundAuthor.get());
+        if (request.checkNotModified(eTag)) {
+            // The 304 and its ETag are already on the response; skip mapping and serialization.
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(authorMapper.mapTo(foundAuthor.get()));
     }
 
     @PutMapping("/authors/{id}")
-    public ResponseEntity<AuthorDto> fullUpdateAuthor(@PathVariable("id") Long id, @RequestBody AuthorDto authorDto) {
+    public ResponseEntity<AuthorDto> fullUpdateAuthor(@PathVariable("id") Long id, @RequestBody AuthorDto authorDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         if (!authorService.isExists(id)) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
 
         authorDto.setId(id);
         AuthorEntity authorEntity = authorMapper.mapFrom(authorDto);
-        AuthorEntity savedAuthor = authorService.save(authorEntity);
+        AuthorEntity savedAuthor = authorService.save(authorEntity, ETags.expectedVersion(ifMatch));
         AuthorDto savedAuthorDto = authorMapper.mapTo(savedAuthor);
-        return new ResponseEntity<>(savedAuthorDto, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(ETags.of(savedAuthor)).body(savedAuthorDto);
     }
 
     @PatchMapping("/authors/{id}")
     public ResponseEntity<AuthorDto> partialUpdate(
             @PathVariable("id") Long id,
-            @RequestBody AuthorDto authorDto) {
+            @RequestBody AuthorDto authorDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
         if (!authorService.isExists(id)) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
 
         AuthorEntity authorEntity = authorMapper.mapFrom(authorDto);
-        AuthorEntity updatedAuthor = authorService.partialUpdate(id, authorEntity);
+        AuthorEntity updatedAuthor = authorService.partialUpdate(id, authorEntity, ETags.expectedVersion(ifMatch));
         AuthorDto updatedAuthorDto = authorMapper.mapTo(updatedAuthor);
-        return new ResponseEntity<>(updatedAuthorDto, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(ETags.of(updatedAuthor)).body(updatedAuthorDto);
     }
 
     @DeleteMapping("/authors/{id}")
@@ -1,17 +1,36 @@
 package com.alex.database.controllers;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.alex.database.domain.WriteResult;
+import com.alex.database.domain.WriteStatus;
+import com.alex.database.domain.dto.BookBatchResultDto;
 import com.alex.database.domain.dto.BookDto;
+import com.alex.database.domain.dto.BookSearchHitDto;
+import com.alex.database.domain.dto.CursorPageDto;
 import com.alex.database.domain.entities.BookEntity;
 import com.alex.database.mappers.Mapper;
+import com.alex.database.services.BookSearchService;
 import com.alex.database.services.BookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -20,57 +39,135 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookController {
 
+    private static final int MAX_CURSOR_LIMIT = 1000;
+    private static final int MAX_SEARCH_LIMIT = 100;
+
     private final Mapper<BookEntity, BookDto> bookMapper;
     private final BookService bookService;
+    private final BookSearchService bookSearchService;
+    private final ObjectMapper objectMapper;
 
-    public BookController(BookService bookService, Mapper<BookEntity, BookDto> bookMapper) {
+    public BookController(BookService bookService, BookSearchService bookSearchService,
+            Mapper<BookEntity, BookDto> bookMapper, ObjectMapper objectMapper) {
         this.bookService = bookService;
+        this.bookSearchService = bookSearchService;
         this.bookMapper = bookMapper;
+        this.objectMapper = objectMapper;
     }
 
     @PutMapping("/books/{isbn}")
-    public ResponseEntity<BookDto> createUpdateBook(@PathVariable("isbn") String isbn, @RequestBody BookDto bookDto) {
+    public ResponseEntity<BookDto> createUpdateBook(@PathVariable("isbn") String isbn, @RequestBody BookDto bookDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         BookEntity bookEntity = bookMapper.mapFrom(bookDto);
-        boolean bookExists = bookService.isExists(isbn);
-        BookEntity savedBookEntity = bookService.createUpdateBook(isbn, bookEntity);
+        WriteResult<BookEntity> result = bookService.createUpdateBook(isbn, bookEntity, ETags.expectedVersion(ifMatch));
+        BookEntity savedBookEntity = result.getEntity();
         BookDto savedUpdatedBookDto = bookMapper.mapTo(savedBookEntity);
 
-        if (bookExists) {
-            return new ResponseEntity<>(savedUpdatedBookDto, HttpStatus.OK);
-        } else {
-            return new ResponseEntity<>(savedUpdatedBookDto, HttpStatus.CREATED);
+        return ResponseEntity.status(result.getStatus() == WriteStatus.CREATED ? HttpStatus.CREATED : HttpStatus.OK)
+                .eTag(ETags.of(savedBookEntity))
+                .body(savedUpdatedBookDto);
+    }
+
+    @PutMapping("/books/batch")
+    public ResponseEntity<List<BookBatchResultDto>> createUpdateBooks(@RequestBody List<BookDto> bookDtos) {
+        if (bookDtos.stream().anyMatch(bookDto -> bookDto.getIsbn() == null || bookDto.getIsbn().isBlank())) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
+
+        List<BookEntity> bookEntities = bookDtos.stream().map(bookMapper::mapFrom).toList();
+        Map<String, WriteStatus> results = bookService.createUpdateBooks(bookEntities);
+        List<BookBatchResultDto> resultDtos = results.entrySet().stream()
+                .map(result -> new BookBatchResultDto(result.getKey(), result.getValue()))
+                .toList();
+        return new ResponseEntity<>(resultDtos, HttpStatus.OK);
     }
 
     @PatchMapping("/books/{isbn}")
     public ResponseEntity<BookDto> partialUpdateBook(
             @PathVariable("isbn") String isbn,
-            @RequestBody BookDto bookDto) {
+            @RequestBody BookDto bookDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         if (!bookService.isExists(isbn)) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
 
         BookEntity bookEntity = bookMapper.mapFrom(bookDto);
-        BookEntity updatedBook = bookService.partialUpdate(isbn, bookEntity);
+        BookEntity updatedBook = bookService.partialUpdate(isbn, bookEntity, ETags.expectedVersion(ifMatch));
         BookDto updatedBookDto = bookMapper.mapTo(updatedBook);
-        return new ResponseEntity<>(updatedBookDto, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(ETags.of(updatedBook)).body(updatedBookDto);
     }
 
     @GetMapping("/books")
     public Page<BookDto> listBooks(Pageable pageable) {
-        Page<BookEntity> books = bookService.findAll(pageable);
-        return books.map(bookMapper::mapTo);
+        return bookService.findAllBookDtos(pageable);
+    }
+
+    // Keyset pagination: seeks on the isbn primary key and skips the total count.
+    @GetMapping(value = "/books", params = "limit")
+    public ResponseEntity<CursorPageDto<BookDto>> listBooksAfter(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam("limit") int limit) {
+        if (limit < 1 || limit > MAX_CURSOR_LIMIT) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        String afterIsbn = null;
+        if (after != null) {
+            try {
+                afterIsbn = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+        }
+
+        Slice<BookEntity> books = bookService.findAllAfter(afterIsbn, limit);
+        List<BookDto> content = books.map(bookMapper::mapTo).getContent();
+        String nextCursor = books.hasNext()
+                ? Base64.getUrlEncoder().withoutPadding()
+                        .encodeToString(content.get(content.size() - 1).getIsbn().getBytes(StandardCharsets.UTF_8))
+                : null;
+        return new ResponseEntity<>(new CursorPageDto<>(content, nextCursor), HttpStatus.OK);
+    }
+
+    // Ranked title search served from the in-memory index; no database round trip.
+    @GetMapping("/books/search")
+    public ResponseEntity<List<BookSearchHitDto>> searchBooks(@RequestParam("q") String query,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        List<BookSearchHitDto> hits = bookSearchService.search(query, limit).stream()
+                .map(hit -> new BookSearchHitDto(hit.isbn(), hit.title(), hit.score()))
+                .toList();
+        return new ResponseEntity<>(hits, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/books/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBooks() {
+        StreamingResponseBody body = outputStream -> {
+            NdjsonWriter writer = new NdjsonWriter(objectMapper.writer(), outputStream);
+            bookService.exportAll(book -> writer.write(bookMapper.mapTo(book)));
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/books/{isbn}")
-    public ResponseEntity<BookDto> getBook(@PathVariable("isbn") String isbn) {
+    public ResponseEntity<BookDto> getBook(@PathVariable("isbn") String isbn, WebRequest request) {
         Optional<BookEntity> foundBook = bookService.findOne(isbn);
-        return foundBook.map(bookEntity -> {
-            BookDto bookDto = bookMapper.mapTo(bookEntity);
-            return new ResponseEntity<>(bookDto, HttpStatus.OK);
-        }).orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+        if (foundBook.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        String eTag = ETags.of(foundBook.get());
+        if (request.checkNotModified(eTag)) {
+            // The 304 and its ETag are already on the response; skip mapping and serialization.
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(bookMapper.mapTo(foundBook.get()));
     }
 
     @DeleteMapping("/books/{isbn}")
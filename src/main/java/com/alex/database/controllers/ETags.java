@@ -0,0 +1,58 @@
+package com.alex.database.controllers;
+
+import com.alex.database.domain.entities.AuthorEntity;
+import com.alex.database.domain.entities.BookEntity;
+
+/**
+ * Strong entity tags for single-resource responses. The leading component is
+ * the resource's own {@code @Version}; the rest covers what the response embeds
+ * but that version does not track: the author's version and the book count,
+ * which is maintained with bulk updates that leave versions alone.
+ * <p>
+ * {@code If-Match} guards only the leading version, since that is the row the
+ * write replaces.
+ */
+final class ETags {
+
+    // Never equal to a stored version, so a malformed or weak If-Match always fails.
+    private static final long NO_MATCH = -1L;
+
+    private ETags() {
+    }
+
+    static String of(AuthorEntity author) {
+        return quote(author.getVersion() + "." + author.getNumberOfBooks());
+    }
+
+    static String of(BookEntity book) {
+        AuthorEntity author = book.getAuthorEntity();
+        return author == null
+                ? quote(String.valueOf(book.getVersion()))
+                : quote(book.getVersion() + "." + author.getVersion() + "." + author.getNumberOfBooks());
+    }
+
+    /**
+     * Returns the version an {@code If-Match} header requires, or null when
+     * the header is absent or {@code *}.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (!tag.startsWith("\"") || !tag.endsWith("\"") || tag.length() < 2) {
+            return NO_MATCH;
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        int end = value.indexOf('.');
+        try {
+            return Long.parseLong(end < 0 ? value : value.substring(0, end));
+        } catch (NumberFormatException e) {
+            return NO_MATCH;
+        }
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
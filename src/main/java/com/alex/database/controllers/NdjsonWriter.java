@@ -0,0 +1,30 @@
+package com.alex.database.controllers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Writes one JSON document per line to a streaming response body.
+ */
+class NdjsonWriter {
+
+    private final ObjectWriter objectWriter;
+    private final OutputStream outputStream;
+
+    NdjsonWriter(ObjectWriter objectWriter, OutputStream outputStream) {
+        this.objectWriter = objectWriter;
+        this.outputStream = outputStream;
+    }
+
+    void write(Object value) {
+        try {
+            outputStream.write(objectWriter.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.alex.database.controllers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.alex.database.domain.dto.AuthorDto;
+import com.alex.database.domain.dto.BookDto;
+import com.alex.database.domain.entities.AuthorEntity;
+import com.alex.database.domain.entities.BookEntity;
+import com.alex.database.mappers.Mapper;
+import com.alex.database.repositories.ReactiveReadRepository;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux handlers for the read endpoints served in the reactive profile
+ * (routes in {@code ReactiveReadConfig}). Responses have the same shapes,
+ * ETags and conditional-GET behaviour as {@link BookController} and
+ * {@link AuthorController}.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveReadHandler {
+
+    // Spring Data's default cap for the MVC Pageable resolver.
+    private static final int MAX_PAGE_SIZE = 2000;
+
+    private final ReactiveReadRepository reactiveReadRepository;
+    private final Mapper<BookEntity, BookDto> bookMapper;
+    private final Mapper<AuthorEntity, AuthorDto> authorMapper;
+
+    public ReactiveReadHandler(ReactiveReadRepository reactiveReadRepository, Mapper<BookEntity, BookDto> bookMapper,
+            Mapper<AuthorEntity, AuthorDto> authorMapper) {
+        this.reactiveReadRepository = reactiveReadRepository;
+        this.bookMapper = bookMapper;
+        this.authorMapper = authorMapper;
+    }
+
+    public Mono<ServerResponse> listBooks(ServerRequest request) {
+        Pageable pageable;
+        try {
+            pageable = pageable(request);
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest().build();
+        }
+
+        return reactiveReadRepository.findBooks(pageable).map(bookMapper::mapTo).collectList()
+                .zipWith(reactiveReadRepository.countBooks())
+                .flatMap(page -> ServerResponse.ok().bodyValue(new PageImpl<>(page.getT1(), pageable, page.getT2())));
+    }
+
+    public Mono<ServerResponse> getBook(ServerRequest request) {
+        return reactiveReadRepository.findBook(request.pathVariable("isbn"))
+                .flatMap(book -> {
+                    String eTag = ETags.of(book);
+                    return request.checkNotModified(eTag)
+                            .switchIfEmpty(Mono.defer(() -> ServerResponse.ok().eTag(eTag)
+                                    .bodyValue(bookMapper.mapTo(book))));
+                })
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.notFound().build()));
+    }
+
+    public Mono<ServerResponse> getAuthor(ServerRequest request) {
+        long id;
+        try {
+            id = Long.parseLong(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return ServerResponse.badRequest().build();
+        }
+
+        return reactiveReadRepository.findAuthor(id)
+                .flatMap(author -> {
+                    String eTag = ETags.of(author);
+                    return request.checkNotModified(eTag)
+                            .switchIfEmpty(Mono.defer(() -> ServerResponse.ok().eTag(eTag)
+                                    .bodyValue(authorMapper.mapTo(author))));
+                })
+                .switchIfEmpty(Mono.defer(() -> ServerResponse.notFound().build()));
+    }
+
+    // page, size and sort=property[,asc|desc] as the MVC Pageable resolver reads them, limited to sortable columns.
+    private static Pageable pageable(ServerRequest request) {
+        int page = request.queryParam("page").map(Integer::parseInt).orElse(0);
+        int size = request.queryParam("size").map(Integer::parseInt).orElse(20);
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Invalid page " + page + " or size " + size);
+        }
+
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String sort : request.queryParams().getOrDefault("sort", List.of())) {
+            String[] parts = sort.split(",");
+            if (!ReactiveReadRepository.BOOK_SORT_COLUMNS.containsKey(parts[0]) || parts.length > 2) {
+                throw new IllegalArgumentException("Cannot sort by " + sort);
+            }
+            Sort.Direction direction = parts.length == 2 ? Sort.Direction.fromString(parts[1]) : Sort.Direction.ASC;
+            orders.add(new Sort.Order(direction, parts[0]));
+        }
+        return PageRequest.of(page, size, Sort.by(orders));
+    }
+}
@@ -0,0 +1,24 @@
+package com.alex.database.controllers;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class RestExceptionHandler {
+
+    // A stale If-Match, or a concurrent write that committed first.
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleStaleWrite(OptimisticLockingFailureException e) {
+        return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+    }
+
+    // Includes lookups that gave up waiting on a concurrent load of the same key.
+    @ExceptionHandler(QueryTimeoutException.class)
+    public ResponseEntity<Void> handleQueryTimeout(QueryTimeoutException e) {
+        return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
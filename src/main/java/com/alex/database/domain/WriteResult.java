@@ -0,0 +1,15 @@
+package com.alex.database.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WriteResult<T> {
+
+    private T entity;
+
+    private WriteStatus status;
+}
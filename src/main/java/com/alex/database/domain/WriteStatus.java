@@ -0,0 +1,6 @@
+package com.alex.database.domain;
+
+public enum WriteStatus {
+    CREATED,
+    UPDATED
+}
@@ -0,0 +1,20 @@
+package com.alex.database.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AgeBucketDto {
+
+    // Inclusive bounds.
+    private int minAge;
+
+    private int maxAge;
+
+    private long authors;
+}
@@ -0,0 +1,21 @@
+package com.alex.database.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AuthorSuggestionDto {
+    private Long id;
+
+    @JsonProperty("author_name")
+    private String name;
+
+    private Integer numberOfBooks;
+}
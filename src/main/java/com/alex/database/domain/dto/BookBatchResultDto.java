@@ -0,0 +1,19 @@
+package com.alex.database.domain.dto;
+
+import com.alex.database.domain.WriteStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookBatchResultDto {
+
+    private String isbn;
+
+    private WriteStatus status;
+}
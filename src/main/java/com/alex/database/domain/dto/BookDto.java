@@ -19,4 +19,12 @@ public class BookDto {
     private String title;
 
     private AuthorDto author;
+
+    // Target of the listing's JPQL constructor expression; the author columns come from a left join.
+    public BookDto(String isbn, String title, Long authorId, String authorName, Integer authorAge,
+            Integer authorNumberOfBooks) {
+        this.isbn = isbn;
+        this.title = title;
+        this.author = authorId == null ? null : new AuthorDto(authorId, authorName, authorAge, authorNumberOfBooks);
+    }
 }
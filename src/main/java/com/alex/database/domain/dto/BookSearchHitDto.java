@@ -0,0 +1,22 @@
+package com.alex.database.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookSearchHitDto {
+
+    private String isbn;
+
+    @JsonProperty("book_title")
+    private String title;
+
+    private double score;
+}
@@ -1,13 +1,22 @@
 package com.alex.database.domain.entities;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Data
@@ -15,9 +24,15 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "authors")
+@Table(name = "authors", indexes = @Index(name = "idx_authors_age_id", columnList = "age, id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = AuthorEntity.CACHE_REGION)
 public class AuthorEntity {
 
+    // Configured in application.conf. Caffeine's JCache provider cannot look up a configured cache whose
+    // name contains dots, so the region is not left to default to the class name.
+    public static final String CACHE_REGION = "authors";
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "author_id_seq")
     private Long id;
@@ -25,4 +40,18 @@ public class AuthorEntity {
     private String name;
 
     private Integer age;
+
+    // Primitive so Spring Data keeps deciding isNew from the id; the default lets ddl-auto add the
+    // column to populated tables.
+    @Version
+    @ColumnDefault("0")
+    @EqualsAndHashCode.Exclude
+    private long version;
+
+    // Maintained by BookServiceImpl with relative bulk UPDATEs, so entity writes never touch it; it
+    // evicts the authors those statements change from the second-level cache.
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    @EqualsAndHashCode.Exclude
+    private int numberOfBooks;
 }
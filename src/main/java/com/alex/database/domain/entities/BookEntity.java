@@ -1,14 +1,22 @@
 package com.alex.database.domain.entities;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Data
@@ -16,15 +24,27 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "books")
+// Indexed for the per-author book counts (reconciliation, author deletes); Postgres does not index foreign keys.
+@Table(name = "books", indexes = @Index(name = "idx_books_author_id", columnList = "author_id"))
+@NamedEntityGraph(name = BookEntity.WITH_AUTHOR, attributeNodes = @NamedAttributeNode("authorEntity"))
 public class BookEntity {
-    
+
+    // Finders that hand books to the mappers load the author through this graph in the same query.
+    public static final String WITH_AUTHOR = "BookEntity.withAuthor";
+
     @Id
     private String isbn;
 
     private String title;
 
-    @ManyToOne(cascade = CascadeType.ALL)
+    // Primitive so Spring Data keeps deciding isNew from the id; the default lets ddl-auto add the
+    // column to populated tables.
+    @Version
+    @ColumnDefault("0")
+    @EqualsAndHashCode.Exclude
+    private long version;
+
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     @JoinColumn(name = "author_id")
     private AuthorEntity authorEntity;
 }
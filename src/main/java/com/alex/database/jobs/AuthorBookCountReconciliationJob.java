@@ -0,0 +1,49 @@
+package com.alex.database.jobs;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.alex.database.concurrent.ReadThroughCache;
+import com.alex.database.domain.entities.AuthorEntity;
+import com.alex.database.repositories.AuthorRepository;
+
+/**
+ * Recomputes {@code authors.number_of_books} from the books table wherever it
+ * has drifted, e.g. after rows were changed outside the application or a
+ * concurrent delete was counted twice. Runs on
+ * {@code app.authors.book-count-reconciliation-cron}, and also once when the
+ * application is ready if {@code app.authors.book-count-reconciliation-on-startup}
+ * is set; it is off by default because the run holds up startup and updates
+ * every drifted author row in one transaction.
+ */
+@Component
+public class AuthorBookCountReconciliationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorBookCountReconciliationJob.class);
+
+    private final AuthorRepository authorRepository;
+    private final ReadThroughCache<Long, AuthorEntity> authorsCache;
+
+    public AuthorBookCountReconciliationJob(AuthorRepository authorRepository,
+            ReadThroughCache<Long, AuthorEntity> authorsCache) {
+        this.authorRepository = authorRepository;
+        this.authorsCache = authorsCache;
+    }
+
+    @EventListener(value = ApplicationReadyEvent.class, condition = "@environment.getProperty("
+            + "'app.authors.book-count-reconciliation-on-startup', T(Boolean), false)")
+    @Scheduled(cron = "${app.authors.book-count-reconciliation-cron:0 0 3 * * *}")
+    @Transactional
+    public void reconcile() {
+        int repaired = authorRepository.reconcileNumberOfBooks();
+        if (repaired > 0) {
+            authorsCache.clearAfterCommit();
+            log.warn("Repaired the book count of {} author(s)", repaired);
+        }
+    }
+}
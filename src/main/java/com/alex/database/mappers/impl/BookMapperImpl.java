@@ -1,29 +1,54 @@
 package com.alex.database.mappers.impl;
 
-import org.modelmapper.ModelMapper;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Component;
 
+import com.alex.database.domain.dto.AuthorDto;
 import com.alex.database.domain.dto.BookDto;
+import com.alex.database.domain.entities.AuthorEntity;
 import com.alex.database.domain.entities.BookEntity;
 import com.alex.database.mappers.Mapper;
 
 @Component
 public class BookMapperImpl implements Mapper<BookEntity, BookDto> {
 
-    private final ModelMapper modelMapper;
+    private final Mapper<AuthorEntity, AuthorDto> authorMapper;
 
-    public BookMapperImpl(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
+    public BookMapperImpl(Mapper<AuthorEntity, AuthorDto> authorMapper) {
+        this.authorMapper = authorMapper;
     }
 
     @Override
     public BookDto mapTo(BookEntity bookEntity) {
-        return modelMapper.map(bookEntity, BookDto.class);
+        if (bookEntity == null) {
+            return null;
+        }
+
+        BookDto bookDto = new BookDto();
+        bookDto.setIsbn(bookEntity.getIsbn());
+        bookDto.setTitle(bookEntity.getTitle());
+        AuthorEntity authorEntity = bookEntity.getAuthorEntity();
+        // The author is lazy and open-in-view is off: a finder that hands books to this mapper must fetch it
+        // (BookEntity.WITH_AUTHOR). Mapping an unloaded proxy would return an author with only its id.
+        if (!Hibernate.isInitialized(authorEntity)) {
+            throw new IllegalStateException("Author of book " + bookEntity.getIsbn()
+                    + " was not fetched; load the book with the " + BookEntity.WITH_AUTHOR + " entity graph");
+        }
+        bookDto.setAuthor(authorMapper.mapTo(authorEntity));
+        return bookDto;
     }
 
     @Override
     public BookEntity mapFrom(BookDto bookDto) {
-        return modelMapper.map(bookDto, BookEntity.class);
+        if (bookDto == null) {
+            return null;
+        }
+
+        BookEntity bookEntity = new BookEntity();
+        bookEntity.setIsbn(bookDto.getIsbn());
+        bookEntity.setTitle(bookDto.getTitle());
+        bookEntity.setAuthorEntity(authorMapper.mapFrom(bookDto.getAuthor()));
+        return bookEntity;
     }
     
 }
@@ -0,0 +1,83 @@
+package com.alex.database.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every call through a service interface and every mapper call as
+ * {@code app.service.invocations} and
+ * {@code app.mapper.invocations}, tagged with {@code operation}
+ * ({@code BookServiceImpl.findOne}) and {@code outcome}
+ * ({@code success}/{@code error}). Repository calls are timed by Spring
+ * Data's own {@code spring.data.repository.invocations} with the same tags,
+ * see {@code MetricsConfig}. Event listeners and lifecycle callbacks on the
+ * service implementations are not part of an interface and are not timed.
+ * <p>
+ * Ordered outermost, so service timings include cache hits as well as the
+ * transaction.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class InvocationTimingAspect {
+
+    static final String SERVICE_TIMER = "app.service.invocations";
+
+    static final String MAPPER_TIMER = "app.mapper.invocations";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public InvocationTimingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.alex.database.services.*Service.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(SERVICE_TIMER, joinPoint);
+    }
+
+    @Around("execution(public * com.alex.database.mappers.Mapper+.map*(..))")
+    public Object timeMapper(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(MAPPER_TIMER, joinPoint);
+    }
+
+    private Object time(String timerName, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = Outcome.SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = Outcome.ERROR;
+            throw e;
+        } finally {
+            sample.stop(timer(timerName, joinPoint, outcome));
+        }
+    }
+
+    private Timer timer(String timerName, ProceedingJoinPoint joinPoint, String outcome) {
+        TimerKey key = new TimerKey(timerName, ClassUtils.getUserClass(joinPoint.getTarget()),
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), outcome);
+        return timers.computeIfAbsent(key, timerKey -> Timer.builder(timerKey.name())
+                .tag("operation", timerKey.targetClass().getSimpleName() + "." + timerKey.method().getName())
+                .tag("outcome", timerKey.outcome())
+                .register(meterRegistry));
+    }
+
+    private record TimerKey(String name, Class<?> targetClass, Method method, String outcome) {
+    }
+}
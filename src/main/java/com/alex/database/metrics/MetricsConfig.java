@@ -0,0 +1,36 @@
+package com.alex.database.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocationResult.State;
+
+import io.micrometer.core.instrument.Tags;
+
+@Configuration
+public class MetricsConfig {
+
+    // Replaces Boot's repository/method/state/exception tags with the operation/outcome pair used by
+    // InvocationTimingAspect, so all three layers can be queried the same way.
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        return invocation -> Tags.of(
+                "operation", invocation.getRepositoryInterface().getSimpleName() + "." + invocation.getMethod().getName(),
+                "outcome", invocation.getResult() != null && invocation.getResult().getState() == State.SUCCESS
+                        ? Outcome.SUCCESS
+                        : Outcome.ERROR);
+    }
+
+    @Bean
+    public SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer(SqlStatementCounter sqlStatementCounter) {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                sqlStatementCounter);
+    }
+}
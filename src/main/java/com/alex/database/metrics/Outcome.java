@@ -0,0 +1,12 @@
+package com.alex.database.metrics;
+
+// Values of the outcome tag shared by the application's invocation timers.
+final class Outcome {
+
+    static final String SUCCESS = "success";
+
+    static final String ERROR = "error";
+
+    private Outcome() {
+    }
+}
@@ -0,0 +1,63 @@
+package com.alex.database.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate {@link StatementInspector} that counts the statements prepared on
+ * the current thread while a {@link Scope} is open. Outside a scope it does
+ * nothing. Statements issued through plain JDBC (the book upsert) bypass
+ * Hibernate and are not counted.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private final ThreadLocal<SqlStatementCounts> current = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounts counts = current.get();
+        if (counts != null) {
+            counts.record(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Starts counting on this thread until the returned scope is closed.
+     * Scopes nest: closing one restores the enclosing scope's counts.
+     */
+    public Scope open() {
+        SqlStatementCounts previous = current.get();
+        SqlStatementCounts counts = new SqlStatementCounts();
+        current.set(counts);
+        return new Scope(counts, previous);
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final SqlStatementCounts counts;
+
+        private final SqlStatementCounts previous;
+
+        private Scope(SqlStatementCounts counts, SqlStatementCounts previous) {
+            this.counts = counts;
+            this.previous = previous;
+        }
+
+        public SqlStatementCounts counts() {
+            return counts;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                current.remove();
+            } else {
+                current.set(previous);
+            }
+        }
+    }
+
+    SqlStatementCounts current() {
+        return current.get();
+    }
+}
@@ -0,0 +1,54 @@
+package com.alex.database.metrics;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Dev profile only: counts the SQL statements behind each request and records
+ * them in {@code app.http.sql.statements}, tagged by handler {@code uri} and
+ * statement {@code kind}. {@link SqlStatementHeaderAdvice} copies the counts
+ * onto the response.
+ */
+@Component
+@Profile("dev")
+public class SqlStatementCountingFilter extends OncePerRequestFilter {
+
+    private final SqlStatementCounter sqlStatementCounter;
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementCountingFilter(SqlStatementCounter sqlStatementCounter, MeterRegistry meterRegistry) {
+        this.sqlStatementCounter = sqlStatementCounter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (SqlStatementCounter.Scope scope = sqlStatementCounter.open()) {
+            filterChain.doFilter(request, response);
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            for (SqlStatementCounts.Kind kind : SqlStatementCounts.Kind.values()) {
+                DistributionSummary.builder("app.http.sql.statements")
+                        .tag("uri", uri)
+                        .tag("kind", kind.name().toLowerCase(Locale.ROOT))
+                        .register(meterRegistry)
+                        .record(scope.counts().get(kind));
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.alex.database.metrics;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Statements Hibernate prepared within one {@link SqlStatementCounter} scope,
+ * by kind.
+ */
+public class SqlStatementCounts {
+
+    public enum Kind {
+        SELECT, INSERT, UPDATE, DELETE, OTHER
+    }
+
+    private final Map<Kind, Integer> counts = new EnumMap<>(Kind.class);
+
+    void record(String sql) {
+        counts.merge(kindOf(sql), 1, Integer::sum);
+    }
+
+    public int get(Kind kind) {
+        return counts.getOrDefault(kind, 0);
+    }
+
+    public int getSelects() {
+        return get(Kind.SELECT);
+    }
+
+    public int getTotal() {
+        return counts.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    @Override
+    public String toString() {
+        return counts.entrySet().stream()
+                .map(count -> count.getKey().name().toLowerCase(Locale.ROOT) + "=" + count.getValue())
+                .collect(Collectors.joining(", "));
+    }
+
+    private static Kind kindOf(String sql) {
+        String statement = sql.stripLeading();
+        int end = 0;
+        while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+            end++;
+        }
+        return switch (statement.substring(0, end).toLowerCase(Locale.ROOT)) {
+            // Hibernate only emits WITH for CTE-based selects
+            case "select", "with" -> Kind.SELECT;
+            case "insert" -> Kind.INSERT;
+            case "update", "merge" -> Kind.UPDATE;
+            case "delete" -> Kind.DELETE;
+            default -> Kind.OTHER;
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.alex.database.metrics;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Dev profile only: adds {@code X-SQL-Statement-Count} (total) and
+ * {@code X-SQL-Statements} (by kind) to response bodies. Headers have to be
+ * set before the body is written, which is after all database work of a
+ * handler since open-in-view is off.
+ */
+@RestControllerAdvice
+@Profile("dev")
+public class SqlStatementHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String COUNT_HEADER = "X-SQL-Statement-Count";
+
+    static final String BREAKDOWN_HEADER = "X-SQL-Statements";
+
+    private final SqlStatementCounter sqlStatementCounter;
+
+    public SqlStatementHeaderAdvice(SqlStatementCounter sqlStatementCounter) {
+        this.sqlStatementCounter = sqlStatementCounter;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        SqlStatementCounts counts = sqlStatementCounter.current();
+        if (counts != null) {
+            response.getHeaders().set(COUNT_HEADER, String.valueOf(counts.getTotal()));
+            response.getHeaders().set(BREAKDOWN_HEADER, counts.toString());
+        }
+        return body;
+    }
+}
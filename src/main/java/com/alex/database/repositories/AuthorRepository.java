@@ -1,13 +1,49 @@
 package com.alex.database.repositories;
 
+import java.util.List;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 
 import com.alex.database.domain.entities.AuthorEntity;
 
+import jakarta.persistence.QueryHint;
+
 public interface AuthorRepository extends CrudRepository<AuthorEntity, Long> {
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     Iterable<AuthorEntity> ageLessThan(Integer age);
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT a FROM AuthorEntity a WHERE a.age > ?1")
     Iterable<AuthorEntity> findAuthorsWithAgeGreaterThan(Integer age);
+
+    // Served by idx_authors_age_id, including the default ORDER BY age, id.
+    Page<AuthorEntity> findByAgeBetween(Integer minAge, Integer maxAge, Pageable pageable);
+
+    // Rows of (lower bound, number of authors), ascending; authors without an age are left out.
+    @Query(value = "SELECT lower_bound, COUNT(*) FROM "
+            + "(SELECT (age / :bucketWidth) * :bucketWidth AS lower_bound FROM authors WHERE age IS NOT NULL) buckets "
+            + "GROUP BY lower_bound ORDER BY lower_bound",
+            nativeQuery = true)
+    List<Object[]> countByAgeBucket(int bucketWidth);
+
+    // Native, with a query space no entity maps: Hibernate would otherwise drop every cached author from
+    // the second-level cache. BookServiceImpl evicts just the adjusted authors once the change commits.
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "author_book_counts"))
+    @Query(value = "UPDATE authors SET number_of_books = number_of_books + :delta WHERE id = :authorId",
+            nativeQuery = true)
+    int adjustNumberOfBooks(Long authorId, int delta);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE authors a SET number_of_books = "
+            + "(SELECT COUNT(*) FROM books b WHERE b.author_id = a.id) "
+            + "WHERE a.number_of_books <> (SELECT COUNT(*) FROM books b WHERE b.author_id = a.id)",
+            nativeQuery = true)
+    int reconcileNumberOfBooks();
 }
@@ -1,15 +1,47 @@
 package com.alex.database.repositories;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import com.alex.database.domain.dto.BookDto;
 import com.alex.database.domain.entities.BookEntity;
 
 public interface BookRepository
-        extends CrudRepository<BookEntity, String>, PagingAndSortingRepository<BookEntity, String> {
+        extends CrudRepository<BookEntity, String>, PagingAndSortingRepository<BookEntity, String>,
+        BookUpsertRepository {
 
     int countByAuthorEntity_Id(Long authorId);
 
+    @EntityGraph(BookEntity.WITH_AUTHOR)
+    @Override
+    Optional<BookEntity> findById(String isbn);
+
+    @EntityGraph(BookEntity.WITH_AUTHOR)
+    @Override
+    Page<BookEntity> findAll(Pageable pageable);
+
+    @EntityGraph(BookEntity.WITH_AUTHOR)
+    List<BookEntity> findAllByOrderByIsbnAsc(Limit limit);
+
+    @EntityGraph(BookEntity.WITH_AUTHOR)
+    List<BookEntity> findByIsbnGreaterThanOrderByIsbnAsc(String isbn, Limit limit);
+
     @Query("SELECT COUNT(b) FROM BookEntity b WHERE b.authorEntity.id = :authorId")
     int getNumberOfBooksByAuthorId(Long authorId);
+
+    @Query("SELECT b.authorEntity.id FROM BookEntity b WHERE b.isbn = :isbn")
+    Optional<Long> findAuthorIdByIsbn(String isbn);
+
+    // Read-only rows for the listing: one joined query, no managed entities to hydrate or dirty-check.
+    @Query(value = "SELECT new com.alex.database.domain.dto.BookDto(b.isbn, b.title, a.id, a.name, a.age, "
+            + "a.numberOfBooks) FROM BookEntity b LEFT JOIN b.authorEntity a",
+            countQuery = "SELECT COUNT(b) FROM BookEntity b")
+    Page<BookDto> findAllBookDtos(Pageable pageable);
 }
@@ -0,0 +1,18 @@
+package com.alex.database.repositories;
+
+import java.util.Optional;
+
+public interface BookUpsertRepository {
+
+    /**
+     * Inserts the book or overwrites its title and author in one statement,
+     * bumping the version on update. Empty when {@code expectedVersion} is
+     * non-null and the stored row has a different version; such a row is left
+     * untouched. A row that did not exist is inserted regardless, so callers
+     * decide what a version on a new row means.
+     */
+    Optional<Result> upsert(String isbn, String title, Long authorId, Long expectedVersion);
+
+    record Result(boolean inserted, long version, Long previousAuthorId) {
+    }
+}
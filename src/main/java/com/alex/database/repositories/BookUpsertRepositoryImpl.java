@@ -0,0 +1,102 @@
+package com.alex.database.repositories;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Native upsert behind {@link BookUpsertRepository}. PostgreSQL does it in a
+ * single {@code INSERT ... ON CONFLICT ... RETURNING}; other databases (H2 in
+ * the tests) lock the row and run a {@code MERGE}.
+ * <p>
+ * Statements go through the JDBC connection of the surrounding JPA
+ * transaction, so callers must flush any pending entity the row references.
+ */
+public class BookUpsertRepositoryImpl implements BookUpsertRepository {
+
+    // xmax is 0 only on a freshly inserted tuple. The CTE reads the row as of statement start, so a
+    // concurrent reassignment can make previous_author_id stale; the count reconciliation covers that.
+    private static final String POSTGRES_UPSERT = """
+            WITH previous AS (SELECT author_id FROM books WHERE isbn = :isbn)
+            INSERT INTO books (isbn, title, author_id, version) VALUES (:isbn, :title, :authorId, 0)
+            ON CONFLICT (isbn) DO UPDATE
+                SET title = EXCLUDED.title, author_id = EXCLUDED.author_id, version = books.version + 1
+                %s
+            RETURNING (xmax = 0) AS inserted, version, (SELECT author_id FROM previous) AS previous_author_id
+            """;
+
+    private static final String POSTGRES_VERSION_CHECK = "WHERE books.version = :expectedVersion";
+
+    private static final String LOCK_ROW = "SELECT author_id, version FROM books WHERE isbn = :isbn FOR UPDATE";
+
+    private static final String MERGE = """
+            MERGE INTO books b
+            USING (VALUES (CAST(:isbn AS VARCHAR), CAST(:title AS VARCHAR), CAST(:authorId AS BIGINT)))
+                AS s (isbn, title, author_id)
+            ON b.isbn = s.isbn
+            WHEN MATCHED THEN UPDATE SET title = s.title, author_id = s.author_id, version = b.version + 1
+            WHEN NOT MATCHED THEN INSERT (isbn, title, author_id, version) VALUES (s.isbn, s.title, s.author_id, 0)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    public BookUpsertRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<Result> upsert(String isbn, String title, Long authorId, Long expectedVersion) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("isbn", isbn, Types.VARCHAR)
+                .addValue("title", title, Types.VARCHAR)
+                .addValue("authorId", authorId, Types.BIGINT)
+                .addValue("expectedVersion", expectedVersion, Types.BIGINT);
+        return isPostgres()
+                ? upsertOnConflict(parameters, expectedVersion != null)
+                : lockAndMerge(parameters, expectedVersion);
+    }
+
+    private Optional<Result> upsertOnConflict(MapSqlParameterSource parameters, boolean checkVersion) {
+        String sql = POSTGRES_UPSERT.formatted(checkVersion ? POSTGRES_VERSION_CHECK : "");
+        List<Result> results = jdbcTemplate.query(sql, parameters, (rs, rowNum) -> new Result(
+                rs.getBoolean("inserted"),
+                rs.getLong("version"),
+                rs.getObject("previous_author_id", Long.class)));
+        // No row back means the conflict's WHERE rejected the update.
+        return results.stream().findFirst();
+    }
+
+    private Optional<Result> lockAndMerge(MapSqlParameterSource parameters, Long expectedVersion) {
+        List<Map<String, Object>> current = jdbcTemplate.queryForList(LOCK_ROW, parameters);
+        if (current.isEmpty()) {
+            jdbcTemplate.update(MERGE, parameters);
+            return Optional.of(new Result(true, 0L, null));
+        }
+
+        long version = ((Number) current.get(0).get("version")).longValue();
+        if (expectedVersion != null && version != expectedVersion) {
+            return Optional.empty();
+        }
+        jdbcTemplate.update(MERGE, parameters);
+        Number previousAuthorId = (Number) current.get(0).get("author_id");
+        return Optional.of(new Result(false, version + 1,
+                previousAuthorId == null ? null : previousAuthorId.longValue()));
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) connection -> "PostgreSQL"
+                    .equals(connection.getMetaData().getDatabaseProductName()));
+            postgres = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,94 @@
+package com.alex.database.repositories;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.alex.database.domain.entities.AuthorEntity;
+import com.alex.database.domain.entities.BookEntity;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of the {@code books}/{@code authors} tables over R2DBC
+ * for the reactive profile. Rows are returned as detached entities so the
+ * existing mappers and ETags apply unchanged; nothing here is managed by JPA.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveReadRepository {
+
+    // Book properties a reactive listing can be sorted by, and their columns.
+    public static final Map<String, String> BOOK_SORT_COLUMNS = Map.of("isbn", "b.isbn", "title", "b.title");
+
+    private static final String SELECT_BOOKS = "SELECT b.isbn, b.title, b.version, a.id AS author_id, "
+            + "a.name AS author_name, a.age AS author_age, a.number_of_books AS author_number_of_books, "
+            + "a.version AS author_version FROM books b LEFT JOIN authors a ON a.id = b.author_id";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveReadRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    // The sort must only use BOOK_SORT_COLUMNS keys; unsorted pages are ordered by isbn.
+    public Flux<BookEntity> findBooks(Pageable pageable) {
+        String orderBy = pageable.getSort().isSorted()
+                ? pageable.getSort().stream()
+                        .map(order -> BOOK_SORT_COLUMNS.get(order.getProperty())
+                                + (order.getDirection() == Sort.Direction.DESC ? " DESC" : " ASC"))
+                        .collect(Collectors.joining(", "))
+                : "b.isbn";
+        return databaseClient.sql(SELECT_BOOKS + " ORDER BY " + orderBy + " LIMIT :limit OFFSET :offset")
+                .bind("limit", pageable.getPageSize())
+                .bind("offset", pageable.getOffset())
+                .map(ReactiveReadRepository::book)
+                .all();
+    }
+
+    public Mono<Long> countBooks() {
+        return databaseClient.sql("SELECT COUNT(*) FROM books")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Mono<BookEntity> findBook(String isbn) {
+        return databaseClient.sql(SELECT_BOOKS + " WHERE b.isbn = :isbn")
+                .bind("isbn", isbn)
+                .map(ReactiveReadRepository::book)
+                .one();
+    }
+
+    public Mono<AuthorEntity> findAuthor(Long id) {
+        return databaseClient.sql("SELECT id, name, age, number_of_books, version FROM authors WHERE id = :id")
+                .bind("id", id)
+                .map(row -> AuthorEntity.builder()
+                        .id(row.get("id", Long.class))
+                        .name(row.get("name", String.class))
+                        .age(row.get("age", Integer.class))
+                        .numberOfBooks(row.get("number_of_books", Integer.class))
+                        .version(row.get("version", Long.class))
+                        .build())
+                .one();
+    }
+
+    private static BookEntity book(Readable row) {
+        Long authorId = row.get("author_id", Long.class);
+        AuthorEntity author = authorId == null ? null : AuthorEntity.builder()
+                .id(authorId)
+                .name(row.get("author_name", String.class))
+                .age(row.get("author_age", Integer.class))
+                .numberOfBooks(row.get("author_number_of_books", Integer.class))
+                .version(row.get("author_version", Long.class))
+                .build();
+        return new BookEntity(row.get("isbn", String.class), row.get("title", String.class),
+                row.get("version", Long.class), author);
+    }
+}
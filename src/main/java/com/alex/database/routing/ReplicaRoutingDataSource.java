@@ -0,0 +1,63 @@
+package com.alex.database.routing;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Where read-only connections come from: the replica, unless the current
+ * thread is pinned to the primary by {@link #pinToPrimary()}. Read-write
+ * connections never reach this data source (see {@code ReplicaRoutingConfig}).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+
+    private static final String REPLICA = "replica";
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(replica);
+    }
+
+    /**
+     * Sends this thread's read-only connections to the primary until the
+     * returned pin is closed. Pins nest.
+     */
+    public static Pin pinToPrimary() {
+        Boolean previous = PINNED.get();
+        PINNED.set(Boolean.TRUE);
+        return new Pin(previous);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return isPinnedToPrimary() ? PRIMARY : REPLICA;
+    }
+
+    public static final class Pin implements AutoCloseable {
+
+        private final Boolean previous;
+
+        private Pin(Boolean previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                PINNED.remove();
+            } else {
+                PINNED.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.alex.database.search;
+
+import java.util.Map;
+
+/**
+ * Published by the book write paths with the net change of
+ * {@code numberOfBooks} per author id.
+ */
+public record AuthorBookCountsChangedEvent(Map<Long, Integer> deltaByAuthorId) {
+}
@@ -0,0 +1,387 @@
+package com.alex.database.search;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Radix trie over author names for typeahead suggestions.
+ *
+ * <p>Names are lower-cased and accent-folded, and every word start is a key,
+ * so "row" finds "J. K. Rowling". Edges carry whole runs of characters, so a
+ * node exists only where keys branch or end. A node ending a key holds the
+ * authors with that name. Every node also keeps the {@link #MAX_SUGGESTIONS}
+ * authors with the most books below it. A lookup walks the prefix and returns
+ * that list, whatever the size of the subtree. Writes rebuild the lists along
+ * the changed path only.
+ *
+ * <p>Thread-safe: lookups share a read lock, updates take the write lock.
+ */
+public class AuthorNameTrie {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private static final Comparator<Entry> BY_RANK = Comparator.comparingInt((Entry entry) -> entry.numberOfBooks)
+            .reversed()
+            .thenComparing(entry -> entry.name)
+            .thenComparingLong(entry -> entry.id);
+
+    public record Suggestion(long id, String name, int numberOfBooks) {
+    }
+
+    /**
+     * Estimated retained heap, assuming a 64-bit JVM with compressed oops.
+     */
+    public record Footprint(int authors, int nodes, long keyCharacters, long estimatedBytes) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Node root = new Node(new char[0]);
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    /**
+     * Adds the author or renames it; the book count of a known author is kept.
+     */
+    public void put(long id, String name, int numberOfBooks) {
+        lock.writeLock().lock();
+        try {
+            Entry existing = entries.get(id);
+            if (existing != null) {
+                if (existing.name.equals(name)) {
+                    return;
+                }
+                numberOfBooks = existing.numberOfBooks;
+                removeEntry(existing);
+            }
+            if (name != null) {
+                Entry entry = new Entry(id, name, numberOfBooks);
+                entries.put(id, entry);
+                keys(name).forEach(key -> insert(key, entry));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Entry existing = entries.get(id);
+            if (existing != null) {
+                removeEntry(existing);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void adjustNumberOfBooks(long id, int delta) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(id);
+            if (entry != null && delta != 0) {
+                entry.numberOfBooks += delta;
+                keys(entry.name).forEach(key -> rerank(path(key)));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} (at most {@link #MAX_SUGGESTIONS}) authors
+     * with a name word starting with the prefix, most books first.
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        char[] folded = fold(prefix).toCharArray();
+        if (folded.length == 0 || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int position = 0;
+            while (position < folded.length) {
+                Node child = node.child(folded[position]);
+                if (child == null) {
+                    return List.of();
+                }
+                int matched = commonPrefix(child.label, folded, position);
+                if (matched < child.label.length && position + matched < folded.length) {
+                    return List.of();
+                }
+                position += matched;
+                node = child;
+            }
+            return Arrays.stream(node.top).limit(limit)
+                    .map(entry -> new Suggestion(entry.id, entry.name, entry.numberOfBooks))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Footprint footprint() {
+        lock.readLock().lock();
+        try {
+            int nodes = 0;
+            long keyCharacters = 0;
+            long bytes = 0;
+            Deque<Node> pending = new ArrayDeque<>(List.of(root));
+            while (!pending.isEmpty()) {
+                Node node = pending.pop();
+                nodes++;
+                keyCharacters += node.label.length;
+                bytes += 32 + array(2, node.label.length) + array(4, node.children.length)
+                        + array(4, node.authors.length) + array(4, node.top.length);
+                pending.addAll(Arrays.asList(node.children));
+            }
+            for (Entry entry : entries.values()) {
+                // Entry, its name (Latin-1 estimate) and the HashMap node with its boxed key and table slot.
+                bytes += 32 + 24 + array(1, entry.name.length()) + 32 + 16 + 4;
+            }
+            return new Footprint(entries.size(), nodes, keyCharacters, bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return SEPARATORS.matcher(folded).replaceAll(" ").strip();
+    }
+
+    // The folded name and each of its suffixes that starts a word.
+    static Set<String> keys(String name) {
+        String folded = fold(name);
+        Set<String> keys = new LinkedHashSet<>();
+        if (!folded.isEmpty()) {
+            keys.add(folded);
+        }
+        for (int i = folded.indexOf(' '); i >= 0; i = folded.indexOf(' ', i + 1)) {
+            keys.add(folded.substring(i + 1));
+        }
+        return keys;
+    }
+
+    private void insert(String key, Entry entry) {
+        char[] chars = key.toCharArray();
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int position = 0;
+        while (position < chars.length) {
+            Node child = node.child(chars[position]);
+            if (child == null) {
+                child = new Node(Arrays.copyOfRange(chars, position, chars.length));
+                node.addChild(child);
+                position = chars.length;
+            } else {
+                int matched = commonPrefix(child.label, chars, position);
+                if (matched < child.label.length) {
+                    child = split(node, child, matched);
+                }
+                position += matched;
+            }
+            path.add(child);
+            node = child;
+        }
+        node.authors = append(node.authors, entry);
+        rerank(path);
+    }
+
+    private void removeEntry(Entry entry) {
+        entries.remove(entry.id);
+        for (String key : keys(entry.name)) {
+            List<Node> path = path(key);
+            Node terminal = path.get(path.size() - 1);
+            terminal.authors = Arrays.stream(terminal.authors).filter(author -> author != entry)
+                    .toArray(Entry[]::new);
+            prune(path);
+            rerank(path);
+        }
+    }
+
+    // Drops nodes left without authors or children and merges single-child nodes into their child.
+    private static void prune(List<Node> path) {
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node node = path.get(i);
+            Node parent = path.get(i - 1);
+            if (node.authors.length > 0) {
+                return;
+            }
+            if (node.children.length == 0) {
+                parent.removeChild(node);
+                path.remove(i);
+            } else if (node.children.length == 1) {
+                Node child = node.children[0];
+                char[] label = Arrays.copyOf(node.label, node.label.length + child.label.length);
+                System.arraycopy(child.label, 0, label, node.label.length, child.label.length);
+                child.label = label;
+                parent.replaceChild(node, child);
+                path.set(i, child);
+                return;
+            } else {
+                return;
+            }
+        }
+    }
+
+    // Nodes from the root to the node ending key, which must be present.
+    private List<Node> path(String key) {
+        char[] chars = key.toCharArray();
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int position = 0;
+        while (position < chars.length) {
+            node = node.child(chars[position]);
+            position += node.label.length;
+            path.add(node);
+        }
+        return path;
+    }
+
+    // Recomputes the top lists bottom-up; each node merges its own authors with its children's lists.
+    private static void rerank(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            List<Entry> candidates = new ArrayList<>(Arrays.asList(node.authors));
+            for (Node child : node.children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            node.top = candidates.stream().distinct().sorted(BY_RANK).limit(MAX_SUGGESTIONS)
+                    .toArray(Entry[]::new);
+        }
+    }
+
+    private static Node split(Node parent, Node child, int at) {
+        Node middle = new Node(Arrays.copyOf(child.label, at));
+        child.label = Arrays.copyOfRange(child.label, at, child.label.length);
+        middle.children = new Node[] { child };
+        middle.top = child.top;
+        parent.replaceChild(child, middle);
+        return middle;
+    }
+
+    private static int commonPrefix(char[] label, char[] key, int from) {
+        int matched = 0;
+        while (matched < label.length && from + matched < key.length && label[matched] == key[from + matched]) {
+            matched++;
+        }
+        return matched;
+    }
+
+    private static Entry[] append(Entry[] entries, Entry entry) {
+        Entry[] appended = Arrays.copyOf(entries, entries.length + 1);
+        appended[entries.length] = entry;
+        return appended;
+    }
+
+    private static long array(int elementSize, int length) {
+        return length == 0 ? 0 : (16 + (long) elementSize * length + 7) & ~7L;
+    }
+
+    private static final class Entry {
+
+        private final long id;
+        private final String name;
+        private int numberOfBooks;
+
+        Entry(long id, String name, int numberOfBooks) {
+            this.id = id;
+            this.name = name;
+            this.numberOfBooks = numberOfBooks;
+        }
+    }
+
+    private static final class Node {
+
+        private char[] label;
+        // Sorted by the first character of their label, which is unique among siblings.
+        private Node[] children = NO_CHILDREN;
+        private Entry[] authors = NO_ENTRIES;
+        private Entry[] top = NO_ENTRIES;
+
+        Node(char[] label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                char candidate = children[middle].label[0];
+                if (candidate < first) {
+                    low = middle + 1;
+                } else if (candidate > first) {
+                    high = middle - 1;
+                } else {
+                    return children[middle];
+                }
+            }
+            return null;
+        }
+
+        void addChild(Node child) {
+            int at = 0;
+            while (at < children.length && children[at].label[0] < child.label[0]) {
+                at++;
+            }
+            Node[] added = new Node[children.length + 1];
+            System.arraycopy(children, 0, added, 0, at);
+            added[at] = child;
+            System.arraycopy(children, at, added, at + 1, children.length - at);
+            children = added;
+        }
+
+        void replaceChild(Node previous, Node replacement) {
+            for (int i = 0; i < children.length; i++) {
+                if (children[i] == previous) {
+                    children[i] = replacement;
+                    return;
+                }
+            }
+        }
+
+        void removeChild(Node child) {
+            children = Arrays.stream(children).filter(candidate -> candidate != child).toArray(Node[]::new);
+            if (children.length == 0) {
+                children = NO_CHILDREN;
+            }
+        }
+    }
+}
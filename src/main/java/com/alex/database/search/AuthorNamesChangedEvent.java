@@ -0,0 +1,20 @@
+package com.alex.database.search;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Published by the author write paths, including authors written through a
+ * book, with the new name per author id; a null name means the author was
+ * deleted.
+ */
+public record AuthorNamesChangedEvent(Map<Long, String> nameById) {
+
+    public static AuthorNamesChangedEvent of(Long id, String name) {
+        return new AuthorNamesChangedEvent(Collections.singletonMap(id, name));
+    }
+
+    public static AuthorNamesChangedEvent deleted(Long id) {
+        return of(id, null);
+    }
+}
@@ -0,0 +1,27 @@
+package com.alex.database.search;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.alex.database.services.AuthorSuggestService;
+
+/**
+ * {@code /actuator/authorsuggestions}: size of the typeahead trie, for heap
+ * sizing.
+ */
+@Component
+@Endpoint(id = "authorsuggestions")
+public class AuthorSuggestionsEndpoint {
+
+    private final AuthorSuggestService authorSuggestService;
+
+    public AuthorSuggestionsEndpoint(AuthorSuggestService authorSuggestService) {
+        this.authorSuggestService = authorSuggestService;
+    }
+
+    @ReadOperation
+    public AuthorNameTrie.Footprint footprint() {
+        return authorSuggestService.footprint();
+    }
+}
@@ -0,0 +1,329 @@
+package com.alex.database.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory inverted index over book titles, ranked with BM25.
+ *
+ * <p>Every indexed title gets an internal document number. Numbers only grow,
+ * so each term's postings are sorted and multi-term queries intersect them by
+ * walking the shortest list and binary searching the others. A term repeated
+ * in a title is stored once per occurrence, which keeps the term frequency
+ * without a second array. Changing or removing a title retires its number;
+ * the postings are rebuilt once retired numbers outnumber live ones.
+ *
+ * <p>Each postings list is cut into blocks of about {@value #BLOCK_SIZE}
+ * entries that record their highest term frequency and shortest title, which
+ * bound the BM25 score of any document in them. A search visits the blocks of
+ * the shortest list best bound first and stops once no remaining block can
+ * beat the k-th hit, so a common term does not score its whole list.
+ *
+ * <p>Thread-safe: searches share a read lock, updates take the write lock.
+ */
+public class BookTitleIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int BLOCK_SIZE = 128;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    public record Hit(String isbn, String title, double score) {
+    }
+
+    private static final Comparator<Hit> BY_RELEVANCE = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparing(Hit::isbn);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postingsByTerm = new HashMap<>();
+    private final Map<String, Integer> documentByIsbn = new HashMap<>();
+    private final List<String> isbns = new ArrayList<>();
+    private final List<String> titles = new ArrayList<>();
+    private int[] lengths = new int[1024];
+    private long totalLength;
+
+    public void put(String isbn, String title) {
+        lock.writeLock().lock();
+        try {
+            retire(isbn);
+            if (title != null) {
+                add(isbn, title);
+            }
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putAll(Map<String, String> titleByIsbn) {
+        lock.writeLock().lock();
+        try {
+            titleByIsbn.forEach((isbn, title) -> {
+                retire(isbn);
+                if (title != null) {
+                    add(isbn, title);
+                }
+            });
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String isbn) {
+        put(isbn, null);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentByIsbn.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} titles containing every term of the query,
+     * best match first.
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> terms = List.copyOf(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[terms.size()];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = postingsByTerm.get(terms.get(i));
+                if (lists[i] == null) {
+                    return List.of();
+                }
+            }
+            Arrays.sort(lists, Comparator.comparingInt(postings -> postings.size));
+
+            int liveDocuments = documentByIsbn.size();
+            double averageLength = (double) totalLength / liveDocuments;
+            double[] idf = new double[lists.length];
+            for (int i = 0; i < lists.length; i++) {
+                idf[i] = Math.log(1 + (liveDocuments - lists[i].documents + 0.5) / (lists[i].documents + 0.5));
+            }
+
+            // The other terms can add at most their list's bound; summed in scoring order, so a document
+            // that reaches every bound scores exactly the block's bound.
+            Postings driver = lists[0];
+            double[] bounds = new double[driver.blocks];
+            for (int block = 0; block < bounds.length; block++) {
+                bounds[block] = bm25(idf[0], driver.blockMaxFrequencies[block], driver.blockMinLengths[block],
+                        averageLength);
+                for (int i = 1; i < lists.length; i++) {
+                    bounds[block] += bm25(idf[i], lists[i].maxFrequency, lists[i].minLength, averageLength);
+                }
+            }
+            int[] blocksByBound = IntStream.range(0, bounds.length).boxed()
+                    .sorted(Comparator.comparingDouble(block -> -bounds[block]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+
+            PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, BY_RELEVANCE.reversed());
+            int[] cursors = new int[lists.length];
+            for (int block : blocksByBound) {
+                // Ties still compete on the ISBN, so only a bound strictly below the k-th score stops the walk.
+                if (best.size() == limit && bounds[block] < best.peek().score()) {
+                    break;
+                }
+                Arrays.fill(cursors, 0);
+                int position = driver.blockStarts[block];
+                int blockEnd = driver.blockEnd(block);
+                candidates: while (position < blockEnd) {
+                    int document = driver.entries[position];
+                    int end = driver.runEnd(position);
+                    int frequency = end - position;
+                    position = end;
+                    if (isbns.get(document) == null) {
+                        continue;
+                    }
+
+                    double score = bm25(idf[0], frequency, lengths[document], averageLength);
+                    for (int i = 1; i < lists.length; i++) {
+                        int found = lists[i].seek(document, cursors[i]);
+                        if (found < 0) {
+                            cursors[i] = -found - 1;
+                            continue candidates;
+                        }
+                        cursors[i] = lists[i].runEnd(found);
+                        score += bm25(idf[i], cursors[i] - found, lengths[document], averageLength);
+                    }
+
+                    if (best.size() == limit && score < best.peek().score()) {
+                        continue;
+                    }
+                    best.add(new Hit(isbns.get(document), titles.get(document), score));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(BY_RELEVANCE);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Lower-cased, accent-folded runs of letters and digits.
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARATORS.split(folded)).filter(token -> !token.isEmpty()).toList();
+    }
+
+    private static double bm25(double idf, int frequency, int length, double averageLength) {
+        return idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+    }
+
+    private void add(String isbn, String title) {
+        int document = isbns.size();
+        List<String> tokens = tokenize(title);
+        isbns.add(isbn);
+        titles.add(title);
+        if (document == lengths.length) {
+            lengths = Arrays.copyOf(lengths, document * 2);
+        }
+        lengths[document] = tokens.size();
+        totalLength += tokens.size();
+        documentByIsbn.put(isbn, document);
+
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        tokens.forEach(token -> frequencies.merge(token, 1, Integer::sum));
+        frequencies.forEach((term, frequency) -> postingsByTerm.computeIfAbsent(term, t -> new Postings())
+                .add(document, frequency, tokens.size()));
+    }
+
+    private void retire(String isbn) {
+        Integer document = documentByIsbn.remove(isbn);
+        if (document != null) {
+            // The postings keep the retired entries until compaction, but IDF counts live documents only.
+            new LinkedHashSet<>(tokenize(titles.get(document)))
+                    .forEach(term -> postingsByTerm.get(term).documents--);
+            isbns.set(document, null);
+            titles.set(document, null);
+            totalLength -= lengths[document];
+        }
+    }
+
+    private void compactIfSparse() {
+        int retired = isbns.size() - documentByIsbn.size();
+        if (retired < 1024 || retired < documentByIsbn.size()) {
+            return;
+        }
+        List<String> liveIsbns = new ArrayList<>(documentByIsbn.size());
+        List<String> liveTitles = new ArrayList<>(documentByIsbn.size());
+        for (int document = 0; document < isbns.size(); document++) {
+            if (isbns.get(document) != null) {
+                liveIsbns.add(isbns.get(document));
+                liveTitles.add(titles.get(document));
+            }
+        }
+        postingsByTerm.clear();
+        documentByIsbn.clear();
+        isbns.clear();
+        titles.clear();
+        totalLength = 0;
+        for (int i = 0; i < liveIsbns.size(); i++) {
+            add(liveIsbns.get(i), liveTitles.get(i));
+        }
+    }
+
+    private static final class Postings {
+
+        private int[] entries = new int[4];
+        private int size;
+        // Distinct live documents; retired ones are subtracted even though their entries stay.
+        private int documents;
+
+        // Score bounds per block and for the whole list. Retiring a document leaves them as they are: still
+        // bounds, only looser until compaction.
+        private int[] blockStarts = new int[1];
+        private int[] blockMaxFrequencies = new int[1];
+        private int[] blockMinLengths = new int[1];
+        private int blocks;
+        private int maxFrequency;
+        private int minLength = Integer.MAX_VALUE;
+
+        void add(int document, int frequency, int length) {
+            if (size + frequency > entries.length) {
+                entries = Arrays.copyOf(entries, Math.max(entries.length * 2, size + frequency));
+            }
+            // A block starts on a document, so no document's entries straddle two blocks.
+            if (blocks == 0 || size - blockStarts[blocks - 1] >= BLOCK_SIZE) {
+                if (blocks == blockStarts.length) {
+                    blockStarts = Arrays.copyOf(blockStarts, blocks * 2);
+                    blockMaxFrequencies = Arrays.copyOf(blockMaxFrequencies, blocks * 2);
+                    blockMinLengths = Arrays.copyOf(blockMinLengths, blocks * 2);
+                }
+                blockStarts[blocks] = size;
+                blockMaxFrequencies[blocks] = 0;
+                blockMinLengths[blocks] = Integer.MAX_VALUE;
+                blocks++;
+            }
+            blockMaxFrequencies[blocks - 1] = Math.max(blockMaxFrequencies[blocks - 1], frequency);
+            blockMinLengths[blocks - 1] = Math.min(blockMinLengths[blocks - 1], length);
+            maxFrequency = Math.max(maxFrequency, frequency);
+            minLength = Math.min(minLength, length);
+
+            Arrays.fill(entries, size, size + frequency, document);
+            size += frequency;
+            documents++;
+        }
+
+        int blockEnd(int block) {
+            return block + 1 < blocks ? blockStarts[block + 1] : size;
+        }
+
+        // Index of the first entry for document at or after from, or -(insertion point) - 1.
+        int seek(int document, int from) {
+            int found = Arrays.binarySearch(entries, from, size, document);
+            if (found < 0) {
+                return found;
+            }
+            while (found > from && entries[found - 1] == document) {
+                found--;
+            }
+            return found;
+        }
+
+        int runEnd(int position) {
+            int document = entries[position];
+            int end = position + 1;
+            while (end < size && entries[end] == document) {
+                end++;
+            }
+            return end;
+        }
+    }
+
+}
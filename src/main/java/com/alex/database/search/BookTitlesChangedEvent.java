@@ -0,0 +1,19 @@
+package com.alex.database.search;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Published by the book write paths with the new title per ISBN; a null
+ * title means the book was deleted.
+ */
+public record BookTitlesChangedEvent(Map<String, String> titleByIsbn) {
+
+    public static BookTitlesChangedEvent of(String isbn, String title) {
+        return new BookTitlesChangedEvent(Collections.singletonMap(isbn, title));
+    }
+
+    public static BookTitlesChangedEvent deleted(String isbn) {
+        return of(isbn, null);
+    }
+}
@@ -2,19 +2,36 @@ package com.alex.database.services;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import com.alex.database.domain.dto.AgeBucketDto;
 import com.alex.database.domain.entities.AuthorEntity;
 
 public interface AuthorService {
 
     AuthorEntity save(AuthorEntity author);
 
+    // Throws OptimisticLockingFailureException unless the stored author has expectedVersion (null skips the check).
+    AuthorEntity save(AuthorEntity author, Long expectedVersion);
+
     List<AuthorEntity> findAll();
 
+    // Authors aged minAge to maxAge inclusive; a null bound leaves that side open.
+    Page<AuthorEntity> findAllByAge(Integer minAge, Integer maxAge, Pageable pageable);
+
+    // Number of authors per age bucket of the given width, ascending; empty buckets are omitted.
+    List<AgeBucketDto> ageHistogram(int bucketWidth);
+
     Optional<AuthorEntity> findOne(Long id);
 
     boolean isExists(Long id);
 
     AuthorEntity partialUpdate(Long id, AuthorEntity authorEntity);
 
+    AuthorEntity partialUpdate(Long id, AuthorEntity authorEntity, Long expectedVersion);
+
     void delete(Long id);
+
+    void exportAll(Consumer<AuthorEntity> consumer);
 }
@@ -0,0 +1,13 @@
+package com.alex.database.services;
+
+import java.util.List;
+
+import com.alex.database.search.AuthorNameTrie;
+
+public interface AuthorSuggestService {
+
+    // Authors with a name word starting with prefix, most books first.
+    List<AuthorNameTrie.Suggestion> suggest(String prefix, int limit);
+
+    AuthorNameTrie.Footprint footprint();
+}
@@ -0,0 +1,11 @@
+package com.alex.database.services;
+
+import java.util.List;
+
+import com.alex.database.search.BookTitleIndex;
+
+public interface BookSearchService {
+
+    // Books whose title contains every term of the query, best match first.
+    List<BookTitleIndex.Hit> search(String query, int limit);
+}
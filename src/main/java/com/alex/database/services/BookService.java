@@ -1,14 +1,26 @@
 package com.alex.database.services;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import com.alex.database.domain.WriteResult;
+import com.alex.database.domain.WriteStatus;
+import com.alex.database.domain.dto.BookDto;
 import com.alex.database.domain.entities.BookEntity;
 
 public interface BookService {
 
     BookEntity createUpdateBook(String isbn, BookEntity bookEntity);
 
+    // Throws OptimisticLockingFailureException unless the stored book has expectedVersion (null skips the check).
+    WriteResult<BookEntity> createUpdateBook(String isbn, BookEntity bookEntity, Long expectedVersion);
+
+    Map<String, WriteStatus> createUpdateBooks(List<BookEntity> bookEntities);
+
     // List<BookEntity> findAll();
 
     Optional<BookEntity> findOne(String isbn);
@@ -17,9 +29,17 @@ public interface BookService {
 
     BookEntity partialUpdate(String isbn, BookEntity bookEntity);
 
+    BookEntity partialUpdate(String isbn, BookEntity bookEntity, Long expectedVersion);
+
     void delete(String isbn);
 
     Page<BookEntity> findAll(Pageable pageable);
 
+    Page<BookDto> findAllBookDtos(Pageable pageable);
+
+    Slice<BookEntity> findAllAfter(String isbn, int limit);
+
+    void exportAll(Consumer<BookEntity> consumer);
+
     int getNumberOfBooksByAuthorId(Long authorId);
 }
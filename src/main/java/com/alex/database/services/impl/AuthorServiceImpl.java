@@ -1,43 +1,126 @@
 package com.alex.database.services.impl;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.alex.database.concurrent.ReadThroughCache;
+import com.alex.database.config.CacheConfig;
+import com.alex.database.domain.dto.AgeBucketDto;
 import com.alex.database.domain.entities.AuthorEntity;
 import com.alex.database.repositories.AuthorRepository;
+import com.alex.database.routing.ReplicaRoutingDataSource;
+import com.alex.database.search.AuthorNamesChangedEvent;
 import com.alex.database.services.AuthorService;
 
+import jakarta.persistence.EntityManager;
+
 @Service
 public class AuthorServiceImpl implements AuthorService {
 
     private final AuthorRepository authorRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int exportFetchSize;
+    private final ReadThroughCache<Long, AuthorEntity> authorsCache;
+    private final Cache authorAgeHistogramsCache;
 
-    public AuthorServiceImpl(AuthorRepository authorRepository) {
+    public AuthorServiceImpl(AuthorRepository authorRepository, EntityManager entityManager,
+            ApplicationEventPublisher eventPublisher, ReadThroughCache<Long, AuthorEntity> authorsCache,
+            Cache authorAgeHistogramsCache,
+            @Value("${app.export.fetch-size:1000}") int exportFetchSize) {
         this.authorRepository = authorRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.exportFetchSize = exportFetchSize;
+        this.authorsCache = authorsCache;
+        this.authorAgeHistogramsCache = authorAgeHistogramsCache;
     }
 
+    @Transactional
     @Override
     public AuthorEntity save(AuthorEntity author) {
-        return authorRepository.save(author);
+        return save(author, null);
+    }
+
+    @Transactional
+    @Override
+    public AuthorEntity save(AuthorEntity author, Long expectedVersion) {
+        // Update the managed row in place: merging the detached author would copy its (client supplied)
+        // book count and version over the stored ones.
+        Optional<AuthorEntity> storedAuthor = Optional.ofNullable(author.getId()).flatMap(authorRepository::findById);
+        checkVersion(expectedVersion, storedAuthor);
+        boolean ageChanged = storedAuthor.map(existingAuthor -> !Objects.equals(existingAuthor.getAge(), author.getAge()))
+                .orElse(true);
+        if (ageChanged) {
+            authorAgeHistogramsCache.clear();
+        }
+        AuthorEntity savedAuthor = storedAuthor
+                .map(existingAuthor -> {
+                    existingAuthor.setName(author.getName());
+                    existingAuthor.setAge(author.getAge());
+                    return existingAuthor;
+                })
+                .orElseGet(() -> authorRepository.save(author));
+        authorsCache.evictAfterCommit(savedAuthor.getId());
+        eventPublisher.publishEvent(AuthorNamesChangedEvent.of(savedAuthor.getId(), savedAuthor.getName()));
+        return savedAuthor;
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<AuthorEntity> findAll() {
         // return StreamSupport.stream(authorRepository.findAll().spliterator(),
         // false).toList();
-        return StreamSupport.stream(authorRepository.findAll().spliterator(), false).collect(Collectors.toList());
+        return StreamSupport.stream(authorRepository.findAll().spliterator(), false)
+                .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Page<AuthorEntity> findAllByAge(Integer minAge, Integer maxAge, Pageable pageable) {
+        return authorRepository.findByAgeBetween(minAge == null ? Integer.MIN_VALUE : minAge,
+                maxAge == null ? Integer.MAX_VALUE : maxAge, pageable);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.AUTHOR_AGE_HISTOGRAMS_CACHE, key = "#bucketWidth", sync = true)
+    @Transactional(readOnly = true)
+    @Override
+    public List<AgeBucketDto> ageHistogram(int bucketWidth) {
+        return authorRepository.countByAgeBucket(bucketWidth).stream()
+                .map(row -> {
+                    int minAge = ((Number) row[0]).intValue();
+                    return new AgeBucketDto(minAge, minAge + bucketWidth - 1, ((Number) row[1]).longValue());
+                })
+                .toList();
+    }
+
+    // Reads through the authors cache by hand, and bypasses it for clients pinned to the primary; see
+    // BookServiceImpl.findOne, which serves cached books with their author from the same cache.
     @Override
     public Optional<AuthorEntity> findOne(Long id) {
-        return authorRepository.findById(id);
+        if (ReplicaRoutingDataSource.isPinnedToPrimary()) {
+            return authorRepository.findById(id);
+        }
+        return authorsCache.get(id, () -> authorRepository.findById(id));
     }
 
+    @Transactional(readOnly = true)
     @Override
     public boolean isExists(Long id) {
         return authorRepository.existsById(id);
@@ -46,16 +129,57 @@ public class AuthorServiceImpl implements AuthorService {
     @Transactional
     @Override
     public AuthorEntity partialUpdate(Long id, AuthorEntity authorEntity) {
+        return partialUpdate(id, authorEntity, null);
+    }
+
+    @Transactional
+    @Override
+    public AuthorEntity partialUpdate(Long id, AuthorEntity authorEntity, Long expectedVersion) {
         return authorRepository.findById(id).map(existtingAuthor -> {
+            checkVersion(expectedVersion, Optional.of(existtingAuthor));
+            if (authorEntity.getAge() != null && !authorEntity.getAge().equals(existtingAuthor.getAge())) {
+                authorAgeHistogramsCache.clear();
+            }
             Optional.ofNullable(authorEntity.getName()).ifPresent(existtingAuthor::setName);
             Optional.ofNullable(authorEntity.getAge()).ifPresent(existtingAuthor::setAge);
-            return authorRepository.save(existtingAuthor);
+            AuthorEntity savedAuthor = authorRepository.save(existtingAuthor);
+            authorsCache.evictAfterCommit(id);
+            eventPublisher.publishEvent(AuthorNamesChangedEvent.of(savedAuthor.getId(), savedAuthor.getName()));
+            return savedAuthor;
         }).orElseThrow(() -> new RuntimeException("Author does not exist"));
     }
 
     @Override
     public void delete(Long id) {
         authorRepository.deleteById(id);
+        authorsCache.evictAfterCommit(id);
+        authorAgeHistogramsCache.clear();
+        eventPublisher.publishEvent(AuthorNamesChangedEvent.deleted(id));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportAll(Consumer<AuthorEntity> consumer) {
+        try (Stream<AuthorEntity> authors = entityManager.createQuery(
+                "SELECT a FROM AuthorEntity a ORDER BY a.id", AuthorEntity.class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            int exported = 0;
+            for (AuthorEntity author : (Iterable<AuthorEntity>) authors::iterator) {
+                consumer.accept(author);
+                // Detach what has been written so the heap stays flat however large the table is.
+                if (++exported % exportFetchSize == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    private static void checkVersion(Long expectedVersion, Optional<AuthorEntity> storedAuthor) {
+        if (expectedVersion != null && !storedAuthor.filter(author -> author.getVersion() == expectedVersion).isPresent()) {
+            throw new OptimisticLockingFailureException("Author version " + expectedVersion + " is not current");
+        }
     }
 
 }
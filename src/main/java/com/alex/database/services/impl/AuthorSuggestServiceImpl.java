@@ -0,0 +1,90 @@
+package com.alex.database.services.impl;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.AvailableHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.alex.database.search.AuthorBookCountsChangedEvent;
+import com.alex.database.search.AuthorNameTrie;
+import com.alex.database.search.AuthorNamesChangedEvent;
+import com.alex.database.services.AuthorSuggestService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Answers author typeahead lookups from an {@link AuthorNameTrie} held in
+ * memory. The trie is loaded from the authors table before the application
+ * starts serving requests and then follows committed writes of this instance;
+ * writes made elsewhere, and book counts repaired by the reconciliation job,
+ * only show up after a restart.
+ */
+@Service
+public class AuthorSuggestServiceImpl implements AuthorSuggestService, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorSuggestServiceImpl.class);
+
+    private final AuthorNameTrie trie = new AuthorNameTrie();
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    public AuthorSuggestServiceImpl(EntityManager entityManager, PlatformTransactionManager transactionManager,
+            @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public List<AuthorNameTrie.Suggestion> suggest(String prefix, int limit) {
+        return trie.suggest(prefix, limit);
+    }
+
+    @Override
+    public AuthorNameTrie.Footprint footprint() {
+        return trie.footprint();
+    }
+
+    // Runs before the web server starts, so no request sees a partially built trie.
+    @Override
+    public void afterSingletonsInstantiated() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = entityManager
+                    .createQuery("SELECT a.id, a.name, a.numberOfBooks FROM AuthorEntity a", Object[].class)
+                    .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                    .getResultStream()) {
+                rows.forEach(row -> trie.put((Long) row[0], (String) row[1], (Integer) row[2]));
+            }
+        });
+        AuthorNameTrie.Footprint footprint = trie.footprint();
+        log.info("Indexed {} author names in {} trie nodes (~{} KiB)", footprint.authors(), footprint.nodes(),
+                footprint.estimatedBytes() / 1024);
+    }
+
+    // Rolled-back writes never reach the trie; writes outside a transaction are applied immediately.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorNamesChanged(AuthorNamesChangedEvent event) {
+        event.nameById().forEach((id, name) -> {
+            if (name == null) {
+                trie.remove(id);
+            } else {
+                trie.put(id, name, 0);
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAuthorBookCountsChanged(AuthorBookCountsChangedEvent event) {
+        event.deltaByAuthorId().forEach(trie::adjustNumberOfBooks);
+    }
+}
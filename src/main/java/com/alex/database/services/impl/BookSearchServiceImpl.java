@@ -0,0 +1,81 @@
+package com.alex.database.services.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.AvailableHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.alex.database.search.BookTitleIndex;
+import com.alex.database.search.BookTitlesChangedEvent;
+import com.alex.database.services.BookSearchService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Answers title searches from a {@link BookTitleIndex} held in memory. The
+ * index is loaded from the books table before the application starts serving
+ * requests and then follows committed writes of this instance; writes made
+ * elsewhere only show up after a restart.
+ */
+@Service
+public class BookSearchServiceImpl implements BookSearchService, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSearchServiceImpl.class);
+
+    private final BookTitleIndex index = new BookTitleIndex();
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    public BookSearchServiceImpl(EntityManager entityManager, PlatformTransactionManager transactionManager,
+            @Value("${app.export.fetch-size:1000}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public List<BookTitleIndex.Hit> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    // Runs before the web server starts, so no request sees a partially built index.
+    @Override
+    public void afterSingletonsInstantiated() {
+        long start = System.nanoTime();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Object[]> rows = entityManager
+                    .createQuery("SELECT b.isbn, b.title FROM BookEntity b", Object[].class)
+                    .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                    .getResultStream()) {
+                Map<String, String> chunk = new HashMap<>();
+                rows.forEach(row -> {
+                    chunk.put((String) row[0], (String) row[1]);
+                    if (chunk.size() == fetchSize) {
+                        index.putAll(chunk);
+                        chunk.clear();
+                    }
+                });
+                index.putAll(chunk);
+            }
+        });
+        log.info("Indexed {} book titles in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Rolled-back writes never reach the index; writes outside a transaction are applied immediately.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookTitlesChanged(BookTitlesChangedEvent event) {
+        index.putAll(event.titleByIsbn());
+    }
+}
@@ -1,28 +1,206 @@
 package com.alex.database.services.impl;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import com.alex.database.concurrent.ReadThroughCache;
+import com.alex.database.domain.WriteResult;
+import com.alex.database.domain.WriteStatus;
+import com.alex.database.domain.dto.BookDto;
+import com.alex.database.domain.entities.AuthorEntity;
 import com.alex.database.domain.entities.BookEntity;
+import com.alex.database.repositories.AuthorRepository;
 import com.alex.database.repositories.BookRepository;
+import com.alex.database.repositories.BookUpsertRepository;
+import com.alex.database.routing.ReplicaRoutingDataSource;
+import com.alex.database.search.AuthorBookCountsChangedEvent;
+import com.alex.database.search.AuthorNamesChangedEvent;
+import com.alex.database.search.BookTitlesChangedEvent;
 import com.alex.database.services.BookService;
 
+import jakarta.persistence.EntityManager;
+
 @Service
 public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int exportFetchSize;
+    private final int batchSize;
+    private final ReadThroughCache<String, BookEntity> booksCache;
+    private final ReadThroughCache<Long, AuthorEntity> authorsCache;
+    private final Cache authorAgeHistogramsCache;
 
-    public BookServiceImpl(BookRepository bookRepository) {
+    public BookServiceImpl(BookRepository bookRepository, AuthorRepository authorRepository,
+            EntityManager entityManager, ApplicationEventPublisher eventPublisher,
+            ReadThroughCache<String, BookEntity> booksCache, ReadThroughCache<Long, AuthorEntity> authorsCache,
+            Cache authorAgeHistogramsCache,
+            @Value("${app.export.fetch-size:1000}") int exportFetchSize,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}") int batchSize) {
         this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.exportFetchSize = exportFetchSize;
+        this.batchSize = batchSize;
+        this.booksCache = booksCache;
+        this.authorsCache = authorsCache;
+        this.authorAgeHistogramsCache = authorAgeHistogramsCache;
     }
 
+    @Transactional
     @Override
     public BookEntity createUpdateBook(String isbn, BookEntity bookEntity) {
-        bookEntity.setIsbn(isbn);
-        return bookRepository.save(bookEntity);
+        return createUpdateBook(isbn, bookEntity, null).getEntity();
+    }
+
+    @Transactional
+    @Override
+    public WriteResult<BookEntity> createUpdateBook(String isbn, BookEntity bookEntity, Long expectedVersion) {
+        // The nested author keeps its cascade-merge semantics and must be in the database before the
+        // book row that references it; the book itself is written by a single native upsert.
+        AuthorEntity author = bookEntity.getAuthorEntity();
+        if (author != null) {
+            if (alignWithStoredAuthor(author)) {
+                authorAgeHistogramsCache.clear();
+            }
+            author = entityManager.merge(author);
+            entityManager.flush();
+            eventPublisher.publishEvent(AuthorNamesChangedEvent.of(author.getId(), author.getName()));
+        }
+
+        BookUpsertRepository.Result result = bookRepository
+                .upsert(isbn, bookEntity.getTitle(), author == null ? null : author.getId(), expectedVersion)
+                .orElseThrow(() -> new OptimisticLockingFailureException(
+                        "Book version " + expectedVersion + " is not current"));
+        if (result.inserted() && expectedVersion != null) {
+            throw new OptimisticLockingFailureException("Book " + isbn + " does not exist");
+        }
+        moveBook(result.previousAuthorId(), author);
+        evictAfterCommit(isbn, result.previousAuthorId(), author == null ? null : author.getId());
+        eventPublisher.publishEvent(BookTitlesChangedEvent.of(isbn, bookEntity.getTitle()));
+
+        BookEntity savedBook = new BookEntity(isbn, bookEntity.getTitle(), result.version(), author);
+        return new WriteResult<>(savedBook, result.inserted() ? WriteStatus.CREATED : WriteStatus.UPDATED);
+    }
+
+    @Transactional
+    @Override
+    public Map<String, WriteStatus> createUpdateBooks(List<BookEntity> bookEntities) {
+        Map<String, WriteStatus> results = new LinkedHashMap<>();
+        Map<String, String> titleByIsbn = new HashMap<>();
+        Map<Long, String> nameByAuthorId = new HashMap<>();
+        Map<Long, Integer> totalBookCountDeltas = new HashMap<>();
+        Set<Long> writtenAuthorIds = new HashSet<>();
+        boolean histogramsChanged = false;
+        for (int from = 0; from < bookEntities.size(); from += batchSize) {
+            List<BookEntity> chunk = bookEntities.subList(from, Math.min(from + batchSize, bookEntities.size()));
+
+            // One IN query per table loads the chunk's existing rows, so writing below needs no per-row SELECT.
+            // authorIdByIsbn maps every ISBN known to exist at this point to its current author id (or null).
+            // managedBooks holds the managed instance per ISBN, whose version the next merge must carry.
+            Map<String, Long> authorIdByIsbn = new HashMap<>();
+            Map<String, BookEntity> managedBooks = new HashMap<>();
+            bookRepository.findAllById(chunk.stream().map(BookEntity::getIsbn).collect(Collectors.toSet()))
+                    .forEach(existingBook -> {
+                        authorIdByIsbn.put(existingBook.getIsbn(), authorIdOf(existingBook));
+                        managedBooks.put(existingBook.getIsbn(), existingBook);
+                    });
+            Map<Long, AuthorEntity> knownAuthors = new HashMap<>();
+            authorRepository.findAllById(chunk.stream().map(BookServiceImpl::authorIdOf)
+                    .filter(Objects::nonNull).collect(Collectors.toSet()))
+                    .forEach(author -> knownAuthors.put(author.getId(), author));
+
+            Map<Long, Integer> bookCountDeltas = new HashMap<>();
+            for (BookEntity book : chunk) {
+                boolean exists = authorIdByIsbn.containsKey(book.getIsbn());
+                Long previousAuthorId = authorIdByIsbn.get(book.getIsbn());
+                AuthorEntity author = book.getAuthorEntity();
+                if (author != null && author.getId() != null && knownAuthors.containsKey(author.getId())) {
+                    AuthorEntity storedAuthor = knownAuthors.get(author.getId());
+                    histogramsChanged |= !Objects.equals(storedAuthor.getAge(), author.getAge());
+                    author.setVersion(storedAuthor.getVersion());
+                    author.setNumberOfBooks(storedAuthor.getNumberOfBooks());
+                } else if (author != null) {
+                    histogramsChanged = true;
+                }
+                Optional.ofNullable(managedBooks.get(book.getIsbn()))
+                        .ifPresent(managedBook -> book.setVersion(managedBook.getVersion()));
+
+                // New books are persisted: merging one would SELECT it first. Their author is merged on its own
+                // (already loaded when it exists) so the cascade keeps applying the payload's author fields.
+                BookEntity savedBook;
+                if (!exists) {
+                    if (author != null && author.getId() != null) {
+                        book.setAuthorEntity(entityManager.merge(author));
+                    }
+                    entityManager.persist(book);
+                    savedBook = book;
+                } else {
+                    savedBook = entityManager.merge(book);
+                }
+
+                managedBooks.put(book.getIsbn(), savedBook);
+                Long currentAuthorId = authorIdOf(savedBook);
+                authorIdByIsbn.put(book.getIsbn(), currentAuthorId);
+                if (!Objects.equals(previousAuthorId, currentAuthorId)) {
+                    Optional.ofNullable(previousAuthorId).ifPresent(id -> bookCountDeltas.merge(id, -1, Integer::sum));
+                    Optional.ofNullable(currentAuthorId).ifPresent(id -> bookCountDeltas.merge(id, 1, Integer::sum));
+                }
+                Optional.ofNullable(previousAuthorId).ifPresent(writtenAuthorIds::add);
+                Optional.ofNullable(currentAuthorId).ifPresent(writtenAuthorIds::add);
+                results.putIfAbsent(book.getIsbn(), exists ? WriteStatus.UPDATED : WriteStatus.CREATED);
+                titleByIsbn.put(book.getIsbn(), book.getTitle());
+                Optional.ofNullable(savedBook.getAuthorEntity())
+                        .ifPresent(savedAuthor -> nameByAuthorId.put(savedAuthor.getId(), savedAuthor.getName()));
+            }
+
+            // Send the chunk as JDBC batches, apply the net count change per author, and keep the
+            // persistence context small.
+            entityManager.flush();
+            bookCountDeltas.forEach((authorId, delta) -> {
+                if (delta != 0) {
+                    authorRepository.adjustNumberOfBooks(authorId, delta);
+                    totalBookCountDeltas.merge(authorId, delta, Integer::sum);
+                }
+            });
+            entityManager.clear();
+        }
+        titleByIsbn.keySet().forEach(booksCache::evictAfterCommit);
+        writtenAuthorIds.forEach(authorsCache::evictAfterCommit);
+        if (histogramsChanged) {
+            authorAgeHistogramsCache.clear();
+        }
+        eventPublisher.publishEvent(new BookTitlesChangedEvent(titleByIsbn));
+        eventPublisher.publishEvent(new AuthorNamesChangedEvent(nameByAuthorId));
+        eventPublisher.publishEvent(new AuthorBookCountsChangedEvent(totalBookCountDeltas));
+        return results;
     }
 
     // @Override
@@ -32,11 +210,22 @@ public class BookServiceImpl implements BookService {
     // false).collect(Collectors.toList());
     // }
 
+    // Read through the books cache by hand so that concurrent misses of one ISBN coalesce in front of it
+    // and the load holds no cache lock; see ReadThroughCache for how it copes with a racing eviction.
+    // The author embedded in a cached book is not served: it is swapped for the one in the authors
+    // cache, so an author write evicts that author alone rather than every book.
+    // Not transactional: waiters must not hold a connection, and findById runs in its own read-only
+    // transaction. A client pinned to the primary after a write skips the caches and the flights, whose
+    // values may come from a lagging replica.
     @Override
     public Optional<BookEntity> findOne(String isbn) {
-        return bookRepository.findById(isbn);
+        if (ReplicaRoutingDataSource.isPinnedToPrimary()) {
+            return bookRepository.findById(isbn);
+        }
+        return booksCache.get(isbn, () -> bookRepository.findById(isbn)).map(this::withCachedAuthor);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public boolean isExists(String isbn) {
         return bookRepository.existsById(isbn);
@@ -45,25 +234,162 @@ public class BookServiceImpl implements BookService {
     @Transactional
     @Override
     public BookEntity partialUpdate(String isbn, BookEntity bookEntity) {
+        return partialUpdate(isbn, bookEntity, null);
+    }
+
+    @Transactional
+    @Override
+    public BookEntity partialUpdate(String isbn, BookEntity bookEntity, Long expectedVersion) {
         return bookRepository.findById(isbn).map(existingBook -> {
+            checkVersion(expectedVersion, Optional.of(existingBook.getVersion()));
+            Long previousAuthorId = authorIdOf(existingBook);
             Optional.ofNullable(bookEntity.getTitle()).ifPresent(existingBook::setTitle);
-            Optional.ofNullable(bookEntity.getAuthorEntity()).ifPresent(existingBook::setAuthorEntity);
-            return bookRepository.save(existingBook);
+            Optional.ofNullable(bookEntity.getAuthorEntity()).ifPresent(author -> {
+                if (alignWithStoredAuthor(author)) {
+                    authorAgeHistogramsCache.clear();
+                }
+                existingBook.setAuthorEntity(author);
+            });
+            BookEntity savedBook = bookRepository.save(existingBook);
+            Optional.ofNullable(savedBook.getAuthorEntity()).ifPresent(savedAuthor -> eventPublisher
+                    .publishEvent(AuthorNamesChangedEvent.of(savedAuthor.getId(), savedAuthor.getName())));
+            moveBook(previousAuthorId, savedBook.getAuthorEntity());
+            evictAfterCommit(isbn, previousAuthorId, authorIdOf(savedBook));
+            eventPublisher.publishEvent(BookTitlesChangedEvent.of(isbn, savedBook.getTitle()));
+            return savedBook;
         }).orElseThrow(() -> new RuntimeException("Book does not exist"));
     }
 
+    @Transactional
     @Override
     public void delete(String isbn) {
+        Optional<Long> authorId = bookRepository.findAuthorIdByIsbn(isbn);
+        authorId.ifPresent(id -> authorRepository.adjustNumberOfBooks(id, -1));
         bookRepository.deleteById(isbn);
+        evictAfterCommit(isbn, authorId.orElse(null), null);
+        if (authorId.isPresent()) {
+            authorAgeHistogramsCache.clear();
+        }
+        eventPublisher.publishEvent(BookTitlesChangedEvent.deleted(isbn));
+        // The author goes with the book (cascade REMOVE).
+        authorId.ifPresent(id -> eventPublisher.publishEvent(AuthorNamesChangedEvent.deleted(id)));
     }
 
+    @Transactional(readOnly = true)
     @Override
     public Page<BookEntity> findAll(Pageable pageable) {
         return bookRepository.findAll(pageable);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Page<BookDto> findAllBookDtos(Pageable pageable) {
+        return bookRepository.findAllBookDtos(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Slice<BookEntity> findAllAfter(String isbn, int limit) {
+        // Fetch one extra row to learn whether another page exists without counting.
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<BookEntity> books = isbn == null
+                ? bookRepository.findAllByOrderByIsbnAsc(fetchLimit)
+                : bookRepository.findByIsbnGreaterThanOrderByIsbnAsc(isbn, fetchLimit);
+        boolean hasNext = books.size() > limit;
+        List<BookEntity> content = hasNext ? books.subList(0, limit) : books;
+        return new SliceImpl<>(content, Pageable.ofSize(limit), hasNext);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public void exportAll(Consumer<BookEntity> consumer) {
+        try (Stream<BookEntity> books = entityManager.createQuery(
+                "SELECT b FROM BookEntity b LEFT JOIN FETCH b.authorEntity ORDER BY b.isbn", BookEntity.class)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            int exported = 0;
+            for (BookEntity book : (Iterable<BookEntity>) books::iterator) {
+                consumer.accept(book);
+                // Detach what has been written so the heap stays flat however large the table is.
+                if (++exported % exportFetchSize == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public int getNumberOfBooksByAuthorId(Long authorId) {
         return bookRepository.getNumberOfBooksByAuthorId(authorId);
     }
+
+    // adjustNumberOfBooks bypasses the second-level cache, so the adjusted authors are dropped from it
+    // once their new counts are committed.
+    @TransactionalEventListener
+    public void onAuthorBookCountsChanged(AuthorBookCountsChangedEvent event) {
+        event.deltaByAuthorId().keySet()
+                .forEach(id -> entityManager.getEntityManagerFactory().getCache().evict(AuthorEntity.class, id));
+    }
+
+    // A cascaded merge copies every attribute of the detached author onto the managed one. Carry the
+    // stored version and count over: the client sends neither, and a stale version would fail the merge.
+    // Returns whether the merge adds the author or changes its age, and with it the age histograms.
+    private boolean alignWithStoredAuthor(AuthorEntity author) {
+        if (author.getId() == null) {
+            return true;
+        }
+        return authorRepository.findById(author.getId()).map(currentAuthor -> {
+            author.setVersion(currentAuthor.getVersion());
+            author.setNumberOfBooks(currentAuthor.getNumberOfBooks());
+            return !Objects.equals(currentAuthor.getAge(), author.getAge());
+        }).orElse(true);
+    }
+
+    private BookEntity withCachedAuthor(BookEntity book) {
+        Long authorId = authorIdOf(book);
+        if (authorId == null) {
+            return book;
+        }
+        AuthorEntity author = authorsCache.get(authorId, () -> authorRepository.findById(authorId))
+                .orElse(book.getAuthorEntity());
+        return new BookEntity(book.getIsbn(), book.getTitle(), book.getVersion(), author);
+    }
+
+    // A book write changes the book, the cascaded fields of its author and the book counts of the
+    // authors it moves between.
+    private void evictAfterCommit(String isbn, Long previousAuthorId, Long currentAuthorId) {
+        booksCache.evictAfterCommit(isbn);
+        Optional.ofNullable(previousAuthorId).ifPresent(authorsCache::evictAfterCommit);
+        Optional.ofNullable(currentAuthorId).ifPresent(authorsCache::evictAfterCommit);
+    }
+
+    private static void checkVersion(Long expectedVersion, Optional<Long> currentVersion) {
+        if (expectedVersion != null && !currentVersion.filter(expectedVersion::equals).isPresent()) {
+            throw new OptimisticLockingFailureException("Book version " + expectedVersion + " is not current");
+        }
+    }
+
+    private void moveBook(Long previousAuthorId, AuthorEntity currentAuthor) {
+        Long currentAuthorId = currentAuthor == null ? null : currentAuthor.getId();
+        if (Objects.equals(previousAuthorId, currentAuthorId)) {
+            return;
+        }
+        Map<Long, Integer> deltas = new HashMap<>();
+        if (previousAuthorId != null) {
+            authorRepository.adjustNumberOfBooks(previousAuthorId, -1);
+            deltas.put(previousAuthorId, -1);
+        }
+        if (currentAuthorId != null) {
+            authorRepository.adjustNumberOfBooks(currentAuthorId, 1);
+            currentAuthor.setNumberOfBooks(currentAuthor.getNumberOfBooks() + 1);
+            deltas.put(currentAuthorId, 1);
+        }
+        eventPublisher.publishEvent(new AuthorBookCountsChangedEvent(deltas));
+    }
+
+    private static Long authorIdOf(BookEntity book) {
+        return book.getAuthorEntity() == null ? null : book.getAuthorEntity().getId();
+    }
 }
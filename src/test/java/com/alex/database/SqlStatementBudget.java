@@ -0,0 +1,37 @@
+package com.alex.database;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.alex.database.metrics.SqlStatementCounter;
+import com.alex.database.metrics.SqlStatementCounts;
+
+/**
+ * Query budgets for integration tests, e.g.
+ * {@code SqlStatementBudget.assertAtMost(counter, 1, () -> mockMvc.perform(get("/authors")))}.
+ * MockMvc runs the request on the test thread, so the counter sees every
+ * statement Hibernate prepares for it.
+ */
+public final class SqlStatementBudget {
+
+    private SqlStatementBudget() {
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        void run() throws Exception;
+    }
+
+    public static SqlStatementCounts count(SqlStatementCounter counter, Action action) throws Exception {
+        try (SqlStatementCounter.Scope scope = counter.open()) {
+            action.run();
+            return scope.counts();
+        }
+    }
+
+    public static SqlStatementCounts assertAtMost(SqlStatementCounter counter, int maxStatements, Action action)
+            throws Exception {
+        SqlStatementCounts counts = count(counter, action);
+        assertThat(counts.getTotal()).as("SQL statements (%s)", counts).isLessThanOrEqualTo(maxStatements);
+        return counts;
+    }
+}
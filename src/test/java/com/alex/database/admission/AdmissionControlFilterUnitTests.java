@@ -0,0 +1,100 @@
+package com.alex.database.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+public class AdmissionControlFilterUnitTests {
+
+    private final ConnectionPoolMonitor connectionPoolMonitor = mock(ConnectionPoolMonitor.class);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AdmissionControlFilter underTest = new AdmissionControlFilter(connectionPoolMonitor, meterRegistry,
+            1, 1, Duration.ofSeconds(2), 10);
+
+    @Test
+    public void testThatAFullWriteBulkheadShedsWritesButNotReads() throws Exception {
+        List<Integer> statuses = new ArrayList<>();
+        FilterChain admittedWrite = (request, response) -> {
+            statuses.add(filter("PUT", "/books/2", (nested, nestedResponse) -> {
+            }).getStatus());
+            statuses.add(filter("GET", "/books/1", (nested, nestedResponse) -> {
+            }).getStatus());
+        };
+
+        MockHttpServletResponse first = filter("PUT", "/books/1", admittedWrite);
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(statuses).containsExactly(503, 200);
+        assertThat(meterRegistry.get("app.admission.rejected").tag("bulkhead", "write").tag("reason", "bulkhead-full")
+                .counter().count()).isEqualTo(1);
+        assertThat(filter("PUT", "/books/2", (request, response) -> {
+        }).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    public void testThatASaturatedPoolShedsWithRetryAfter() throws Exception {
+        when(connectionPoolMonitor.isSaturated()).thenReturn(true);
+
+        MockHttpServletResponse response = filter("GET", "/authors/1", (request, chainResponse) -> {
+            throw new AssertionError("Request should have been shed");
+        });
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+    }
+
+    @Test
+    public void testThatASaturatedPoolDoesNotShedWrites() throws Exception {
+        when(connectionPoolMonitor.isSaturated()).thenReturn(true);
+
+        assertThat(filter("PUT", "/books/1", (request, response) -> {
+        }).getStatus()).isEqualTo(200);
+        assertThat(filter("GET", "/books/1", (request, response) -> {
+        }).getStatus()).isEqualTo(503);
+    }
+
+    @Test
+    public void testThatOtherEndpointsAreNotAdmissionControlled() throws Exception {
+        when(connectionPoolMonitor.isSaturated()).thenReturn(true);
+
+        assertThat(filter("GET", "/actuator/health", (request, response) -> {
+        }).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    public void testThatInMemoryLookupsAreNotAdmissionControlled() throws Exception {
+        when(connectionPoolMonitor.isSaturated()).thenReturn(true);
+        FilterChain searches = (request, response) -> {
+            assertThat(filter("GET", "/books/search", (nested, nestedResponse) -> {
+            }).getStatus()).isEqualTo(200);
+            assertThat(filter("GET", "/authors/suggest", (nested, nestedResponse) -> {
+            }).getStatus()).isEqualTo(200);
+        };
+
+        assertThat(filter("GET", "/books/search", searches).getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("app.admission.rejected").counters())
+                .allSatisfy(counter -> assertThat(counter.count()).isZero());
+    }
+
+    private MockHttpServletResponse filter(String method, String uri, FilterChain chain)
+            throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        underTest.doFilter(new MockHttpServletRequest(method, uri), response, chain);
+        return response;
+    }
+}
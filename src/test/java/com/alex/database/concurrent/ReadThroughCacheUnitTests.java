@@ -0,0 +1,58 @@
+package com.alex.database.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class ReadThroughCacheUnitTests {
+
+    private final ConcurrentMapCache cache = new ConcurrentMapCache("books");
+
+    private final ReadThroughCache<String, String> underTest = new ReadThroughCache<>(cache, Duration.ofSeconds(5),
+            new SimpleMeterRegistry());
+
+    @Test
+    public void testThatALoadIsStoredAndServedFromTheCache() {
+        assertThat(underTest.get("123", () -> Optional.of("Book"))).hasValue("Book");
+
+        assertThat(underTest.get("123", () -> Optional.of("Other"))).hasValue("Book");
+    }
+
+    @Test
+    public void testThatAMissIsStoredAsAbsent() {
+        assertThat(underTest.get("123", Optional::empty)).isEmpty();
+
+        assertThat(underTest.get("123", () -> Optional.of("Book"))).isEmpty();
+    }
+
+    @Test
+    public void testThatALoadOvertakenByAnEvictionIsNotKept() {
+        // The write commits, and evicts, after the load has read the old row but before it is stored.
+        Optional<String> loaded = underTest.get("123", () -> {
+            underTest.evictAfterCommit("123");
+            return Optional.of("Stale");
+        });
+
+        assertThat(loaded).hasValue("Stale");
+        assertThat(cache.get("123")).isNull();
+        assertThat(underTest.get("123", () -> Optional.of("Fresh"))).hasValue("Fresh");
+        assertThat(cache.get("123").get()).isEqualTo("Fresh");
+    }
+
+    @Test
+    public void testThatAClearEvictsEveryKey() {
+        underTest.get("123", () -> Optional.of("Book"));
+        underTest.get("456", () -> Optional.of("Other"));
+
+        underTest.clearAfterCommit();
+
+        assertThat(cache.get("123")).isNull();
+        assertThat(cache.get("456")).isNull();
+    }
+}
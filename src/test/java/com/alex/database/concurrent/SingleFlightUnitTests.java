@@ -0,0 +1,135 @@
+package com.alex.database.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class SingleFlightUnitTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final SingleFlight<String, String> underTest = new SingleFlight<>("books", Duration.ofSeconds(5),
+            meterRegistry);
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testThatConcurrentCallsShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> underTest.load("123", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "Book";
+        }));
+        waitUntilLoading(loads);
+
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            followers.add(executor.submit(() -> underTest.load("123", () -> {
+                loads.incrementAndGet();
+                return "Other";
+            })));
+        }
+        waitUntilCoalesced(10);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("Book");
+        for (Future<String> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("Book");
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    public void testThatAFailedLoadIsRethrownToEveryCaller() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("Database down");
+        Future<String> leader = executor.submit(() -> underTest.load("123", () -> {
+            loads.incrementAndGet();
+            await(release);
+            throw failure;
+        }));
+        waitUntilLoading(loads);
+        Future<String> follower = executor.submit(() -> underTest.load("123", () -> "Book"));
+        waitUntilCoalesced(1);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        assertThat(underTest.load("123", () -> "Book")).isEqualTo("Book");
+    }
+
+    @Test
+    public void testThatWaitersTimeOutWhileTheLoadCarriesOn() throws Exception {
+        SingleFlight<String, String> impatient = new SingleFlight<>("authors", Duration.ofMillis(50), meterRegistry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> impatient.load("1", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return "Author";
+        }));
+        waitUntilLoading(loads);
+
+        assertThatThrownBy(() -> impatient.load("1", () -> "Other")).isInstanceOf(QueryTimeoutException.class);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("Author");
+        assertThat(meterRegistry.get("app.single-flight.timeouts").tag("flight", "authors").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void testThatDifferentKeysLoadIndependently() {
+        assertThat(underTest.load("1", () -> "One")).isEqualTo("One");
+        assertThat(underTest.load("2", () -> "Two")).isEqualTo("Two");
+        assertThat(underTest.load("1", () -> "Uno")).isEqualTo("Uno");
+        assertThat(coalesced()).isZero();
+    }
+
+    private double coalesced() {
+        return meterRegistry.get("app.single-flight.coalesced").tag("flight", "books").counter().count();
+    }
+
+    private void waitUntilLoading(AtomicInteger loads) throws InterruptedException {
+        while (loads.get() == 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    private void waitUntilCoalesced(int calls) throws InterruptedException {
+        while (coalesced() < calls) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.alex.database.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.alex.database.TestDataUtil;
+import com.alex.database.domain.entities.BookEntity;
+import com.alex.database.services.BookService;
+
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class VirtualThreadConfigIntegrationTests {
+
+    private final CacheManager cacheManager;
+
+    private final BookService bookService;
+
+    private final VirtualThreadPinningMonitor pinningMonitor;
+
+    @Autowired
+    public VirtualThreadConfigIntegrationTests(CacheManager cacheManager, BookService bookService,
+            VirtualThreadPinningMonitor pinningMonitor) {
+        this.cacheManager = cacheManager;
+        this.bookService = bookService;
+        this.pinningMonitor = pinningMonitor;
+    }
+
+    @Test
+    public void testThatCachesLoadAsynchronouslyOnVirtualThreads() {
+        // getAsyncCache() throws unless the cache manager built the cache in async mode.
+        assertThat(cacheManager).isInstanceOf(CaffeineCacheManager.class);
+        assertThat(cacheManager.getCache(CacheConfig.BOOKS_CACHE)).isInstanceOfSatisfying(CaffeineCache.class,
+                caffeineCache -> assertThat(caffeineCache.getAsyncCache()).isNotNull());
+        assertThat(pinningMonitor.isRunning()).isTrue();
+
+        BookEntity book = TestDataUtil.createTestBook("1234567890", "Java", null);
+        bookService.createUpdateBook(book.getIsbn(), book);
+        BookEntity first = bookService.findOne(book.getIsbn()).orElseThrow();
+        BookEntity second = bookService.findOne(book.getIsbn()).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+    }
+}
@@ -1,19 +1,30 @@
 package com.alex.database.controllers;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import com.alex.database.SqlStatementBudget;
 import com.alex.database.TestDataUtil;
 import com.alex.database.domain.dto.AuthorDto;
 import com.alex.database.domain.entities.AuthorEntity;
+import com.alex.database.domain.entities.BookEntity;
+import com.alex.database.metrics.SqlStatementCounter;
 import com.alex.database.services.AuthorService;
+import com.alex.database.services.BookService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @SpringBootTest
@@ -27,11 +38,18 @@ public class AuthorControllerIntegrationTests {
 
         private final AuthorService authorService;
 
+        private final BookService bookService;
+
+        private final SqlStatementCounter sqlStatementCounter;
+
         @Autowired
-        public AuthorControllerIntegrationTests(MockMvc mockMvc, AuthorService authorService) {
+        public AuthorControllerIntegrationTests(MockMvc mockMvc, AuthorService authorService,
+                        BookService bookService, SqlStatementCounter sqlStatementCounter) {
                 this.mockMvc = mockMvc;
                 this.objectMapper = new ObjectMapper();
                 this.authorService = authorService;
+                this.bookService = bookService;
+                this.sqlStatementCounter = sqlStatementCounter;
         }
 
         @Test
@@ -96,6 +114,76 @@ public class AuthorControllerIntegrationTests {
                                                 MockMvcResultMatchers.jsonPath("$[0].age").value(40));
         }
 
+        @Test
+        public void testThatListAuthorsReturnsNumberOfBooks() throws Exception {
+                AuthorEntity authorA = authorService.save(TestDataUtil.createTestAuthor(null, "Alex", 40));
+                authorService.save(TestDataUtil.createTestAuthor(null, "Jess", 40));
+                for (int i = 0; i < 3; i++) {
+                        BookEntity book = TestDataUtil.createTestBook(String.valueOf(i), "Java" + i, authorA);
+                        bookService.createUpdateBook(book.getIsbn(), book);
+                }
+
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get("/authors")
+                                                .contentType(MediaType.APPLICATION_JSON))
+                                .andExpect(
+                                                MockMvcResultMatchers.jsonPath("$[0].author_name").value("Alex"))
+                                .andExpect(
+                                                MockMvcResultMatchers.jsonPath("$[0].numberOfBooks").value(3))
+                                .andExpect(
+                                                MockMvcResultMatchers.jsonPath("$[1].author_name").value("Jess"))
+                                .andExpect(
+                                                MockMvcResultMatchers.jsonPath("$[1].numberOfBooks").value(0));
+        }
+
+        @Test
+        public void testThatListAuthorsIssuesOneStatement() throws Exception {
+                AuthorEntity author = authorService.save(TestDataUtil.createTestAuthor(null, "Alex", 40));
+                authorService.save(TestDataUtil.createTestAuthor(null, "Jess", 40));
+                for (int i = 0; i < 3; i++) {
+                        BookEntity book = TestDataUtil.createTestBook(String.valueOf(i), "Java" + i, author);
+                        bookService.createUpdateBook(book.getIsbn(), book);
+                }
+
+                // The book counts are a column, so listing must not query books per author.
+                SqlStatementBudget.assertAtMost(sqlStatementCounter, 1, () -> mockMvc.perform(
+                                MockMvcRequestBuilders.get("/authors"))
+                                .andExpect(MockMvcResultMatchers.status().isOk()));
+        }
+
+        @Test
+        public void testThatGetAuthorReturnsNumberOfBooks() throws Exception {
+                AuthorEntity author = authorService.save(TestDataUtil.createTestAuthor(null, "Alex", 40));
+                BookEntity book = TestDataUtil.createTestBook("123456789", "Kotlin", author);
+                bookService.createUpdateBook(book.getIsbn(), book);
+
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get("/authors/" + author.getId())
+                                                .contentType(MediaType.APPLICATION_JSON))
+                                .andExpect(
+                                                MockMvcResultMatchers.jsonPath("$.numberOfBooks").value(1));
+        }
+
+        @Test
+        public void testThatExportAuthorsStreamsOneJsonDocumentPerLine() throws Exception {
+                authorService.save(TestDataUtil.createTestAuthor(null, "Alex", 40));
+                authorService.save(TestDataUtil.createTestAuthor(null, "Jess", 39));
+
+                MvcResult result = mockMvc.perform(
+                                MockMvcRequestBuilders.get("/authors/export"))
+                                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                                .andReturn();
+                String body = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                                .andReturn().getResponse().getContentAsString();
+
+                List<String> lines = body.lines().toList();
+                assertThat(lines).hasSize(2);
+                assertThat(objectMapper.readTree(lines.get(1)).get("author_name").asText()).isEqualTo("Jess");
+                assertThat(objectMapper.readTree(lines.get(1)).get("numberOfBooks").asInt()).isEqualTo(0);
+        }
+
         @Test
         public void testThatGetAuthorReturnsHttpStatus200() throws Exception {
                 AuthorEntity authorA = TestDataUtil.createTestAuthor(1L, "Alex", 40);
@@ -225,6 +313,180 @@ public class AuthorControllerIntegrationTests {
                                                 MockMvcResultMatchers.jsonPath("$.age").value(authorDto.getAge()));
         }
 
+        @Test
+        public void testThatGetAuthorReturnsHttp304WhenETagMatches() throws Exception {
+                AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor(null, "Alex", 40));
+
+                MvcResult result = mockMvc.perform(
+                                MockMvcRequestBuilders.get("/authors/" + savedAuthor.getId()))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                                .andReturn();
+                String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get("/authors/" + savedAuthor.getId())
+                                                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, eTag))
+                                .andExpect(MockMvcResultMatchers.content().string(""));
+        }
+
+        @Test
+        public void testThatFullUpdateAuthorWithCurrentIfMatchReturnsNewETag() throws Exception {
+                AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor(null, "Alex", 40));
+
+                AuthorDto authorDto = TestDataUtil.createTestAuthorDto(null, "Alexandra", 41);
+                mockMvc.perform(
+                                MockMvcRequestBuilders.put("/authors/" + savedAuthor.getId())
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .header(HttpHeaders.IF_MATCH, "\"0.0\"")
+                                                .content(objectMapper.writeValueAsString(authorDto)))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"1.0\""));
+        }
+
+        @Test
+        public void testThatFullUpdateAuthorWithStaleIfMatchReturnsHttp412() throws Exception {
+                AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor(null, "Alex", 40));
+                authorService.partialUpdate(savedAuthor.getId(), TestDataUtil.createTestAuthor(null, "Alexandra", 40));
+
+                AuthorDto authorDto = TestDataUtil.createTestAuthorDto(null, "Alexa", 41);
+                mockMvc.perform(
+                                MockMvcRequestBuilders.put("/authors/" + savedAuthor.getId())
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .header(HttpHeaders.IF_MATCH, "\"0.0\"")
+                                                .content(objectMapper.writeValueAsString(authorDto)))
+                                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+                assertThat(authorService.findOne(savedAuthor.getId())).get().extracting(AuthorEntity::getName)
+                                .isEqualTo("Alexandra");
+        }
+
+        @Test
+        public void testThatPartialUpdateAuthorWithStaleIfMatchReturnsHttp412() throws Exception {
+                AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor(null, "Alex", 40));
+                authorService.partialUpdate(savedAuthor.getId(), TestDataUtil.createTestAuthor(null, "Alexandra", 40));
+
+                AuthorDto authorDto = TestDataUtil.createTestAuthorDto(null, "Alexa", 41);
+                mockMvc.perform(
+                                MockMvcRequestBuilders.patch("/authors/" + savedAuthor.getId())
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                                                .content(objectMapper.writeValueAsString(authorDto)))
+                                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+                assertThat(authorService.findOne(savedAuthor.getId())).get().extracting(AuthorEntity::getName)
+                                .isEqualTo("Alexandra");
+        }
+
+        @Test
+        public void testThatPartialUpdateAuthorWithoutIfMatchUpdatesUnconditionally() throws Exception {
+                AuthorEntity savedAuthor = authorService.save(TestDataUtil.createTestAuthor(null, "Alex", 40));
+                authorService.partialUpdate(savedAuthor.getId(), TestDataUtil.createTestAuthor(null, "Alexandra", 40));
+
+                AuthorDto authorDto = TestDataUtil.createTestAuthorDto(null, "Alexa", 41);
+                mockMvc.perform(
+                                MockMvcRequestBuilders.patch("/authors/" + savedAuthor.getId())
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(objectMapper.writeValueAsString(authorDto)))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"2.0\""))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.author_name").value("Alexa"));
+        }
+
+        @Test
+        public void testThatListAuthorsByAgeReturnsPagedRangeOrderedByAge() throws Exception {
+                authorService.save(TestDataUtil.createTestAuthor(null, "Alex", 40));
+                authorService.save(TestDataUtil.createTestAuthor(null, "Dora", 8));
+                authorService.save(TestDataUtil.createTestAuthor(null, "Jess", 30));
+                authorService.save(TestDataUtil.createTestAuthor(null, "John", 70));
+
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get("/authors?minAge=10&maxAge=60&size=1"))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.content.length()").value(1))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].author_name").value("Jess"))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.totalElements").value(2));
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get("/authors?maxAge=30"))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.content[*].author_name")
+                                                .value(Matchers.contains("Dora", "Jess")));
+        }
+
+        @Test
+        public void testThatListAuthorsByAgeRejectsInvertedRange() throws Exception {
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get("/authors?minAge=60&maxAge=10"))
+                                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        }
+
+        @Test
+        public void testThatAgeHistogramIsCachedUntilNextAuthorWrite() throws Exception {
+                authorService.save(TestDataUtil.createTestAuthor(null, "Alex", 40));
+                authorService.save(TestDataUtil.createTestAuthor(null, "Jess", 45));
+                authorService.save(TestDataUtil.createTestAuthor(null, "Dora", 8));
+
+                SqlStatementBudget.assertAtMost(sqlStatementCounter, 1, () -> mockMvc.perform(
+                                MockMvcRequestBuilders.get("/authors/age-histogram"))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$[0].minAge").value(0))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$[0].maxAge").value(9))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$[1].minAge").value(40))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$[1].authors").value(2)));
+                SqlStatementBudget.assertAtMost(sqlStatementCounter, 0, () -> mockMvc.perform(
+                                MockMvcRequestBuilders.get("/authors/age-histogram"))
+                                .andExpect(MockMvcResultMatchers.status().isOk()));
+
+                authorService.save(TestDataUtil.createTestAuthor(null, "John", 41));
+
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get("/authors/age-histogram"))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$[1].authors").value(3));
+        }
+
+        @Test
+        public void testThatSuggestAuthorsRanksByNumberOfBooks() throws Exception {
+                authorService.save(TestDataUtil.createTestAuthor(null, "Ann Rowan", 40));
+                AuthorEntity rowling = TestDataUtil.createTestAuthor(null, "Joanne Rowling", 50);
+                bookService.createUpdateBook("1", TestDataUtil.createTestBook("1", "Stone", rowling));
+
+                SqlStatementBudget.assertAtMost(sqlStatementCounter, 0, () -> mockMvc.perform(
+                                MockMvcRequestBuilders.get("/authors/suggest?prefix=Row"))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$[0].author_name").value("Joanne Rowling"))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$[0].numberOfBooks").value(1))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$[1].author_name").value("Ann Rowan")));
+        }
+
+        @Test
+        public void testThatSuggestAuthorsFollowsRenamesAndDeletes() throws Exception {
+                AuthorEntity ann = authorService.save(TestDataUtil.createTestAuthor(null, "Ann Rowan", 40));
+                AuthorEntity bob = authorService.save(TestDataUtil.createTestAuthor(null, "Bob Rowe", 40));
+                authorService.partialUpdate(ann.getId(), TestDataUtil.createTestAuthor(null, "Ann Smith", null));
+                authorService.delete(bob.getId());
+
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get("/authors/suggest?prefix=row"))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(0));
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get("/authors/suggest?prefix=smi"))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(ann.getId()));
+        }
+
+        @Test
+        public void testThatAuthorSuggestionsEndpointReportsFootprint() throws Exception {
+                authorService.save(TestDataUtil.createTestAuthor(null, "Ann Rowan", 40));
+
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get("/actuator/authorsuggestions"))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.authors").value(1))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.estimatedBytes").isNumber());
+        }
+
         @Test
         public void testThatDeleteAuthorReturnsHttp204WhenNoExist() throws Exception {
                 mockMvc.perform(
@@ -1,22 +1,34 @@
 package com.alex.database.controllers;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import com.alex.database.SqlStatementBudget;
 import com.alex.database.TestDataUtil;
 import com.alex.database.domain.dto.AuthorDto;
 import com.alex.database.domain.dto.BookDto;
 import com.alex.database.domain.entities.AuthorEntity;
 import com.alex.database.domain.entities.BookEntity;
+import com.alex.database.metrics.SqlStatementCounter;
 import com.alex.database.services.BookService;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 
 @SpringBootTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -26,12 +38,15 @@ public class BookControllerIntegrationTests {
         private final MockMvc mockMvc;
         private final ObjectMapper objectMapper;
         private final BookService bookService;
+        private final SqlStatementCounter sqlStatementCounter;
 
         @Autowired
-        public BookControllerIntegrationTests(MockMvc mockMvc, BookService bookService) {
+        public BookControllerIntegrationTests(MockMvc mockMvc, BookService bookService,
+                        SqlStatementCounter sqlStatementCounter) {
                 this.mockMvc = mockMvc;
                 this.objectMapper = new ObjectMapper();
                 this.bookService = bookService;
+                this.sqlStatementCounter = sqlStatementCounter;
         }
 
         @Test
@@ -102,6 +117,50 @@ public class BookControllerIntegrationTests {
                                                                 .value(bookDto.getTitle()));
         }
 
+        @Test
+        public void testThatBatchCreateUpdateBooksReportsPerItemStatus() throws Exception {
+                AuthorEntity authorEntity = TestDataUtil.createTestAuthor(1L, "Alex", 39);
+                BookEntity bookEntity = TestDataUtil.createTestBook("123456", "Java", authorEntity);
+                bookService.createUpdateBook(bookEntity.getIsbn(), bookEntity);
+
+                AuthorDto authorDto = TestDataUtil.createTestAuthorDto(null, "Dora", 7);
+                List<BookDto> books = List.of(
+                                TestDataUtil.createTestBookDto("123456", "Rust", authorDto),
+                                TestDataUtil.createTestBookDto("654321", "Go", authorDto),
+                                TestDataUtil.createTestBookDto("777777", "Zig", null));
+
+                mockMvc.perform(
+                                MockMvcRequestBuilders.put("/books/batch")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(objectMapper.writeValueAsString(books)))
+                                .andExpect(
+                                                MockMvcResultMatchers.status().isOk())
+                                .andExpect(
+                                                MockMvcResultMatchers.jsonPath("$[0].isbn").value("123456"))
+                                .andExpect(
+                                                MockMvcResultMatchers.jsonPath("$[0].status").value("UPDATED"))
+                                .andExpect(
+                                                MockMvcResultMatchers.jsonPath("$[1].status").value("CREATED"))
+                                .andExpect(
+                                                MockMvcResultMatchers.jsonPath("$[2].status").value("CREATED"));
+
+                assertThat(bookService.findOne("123456")).get().extracting(BookEntity::getTitle).isEqualTo("Rust");
+                assertThat(bookService.isExists("654321")).isTrue();
+                assertThat(bookService.isExists("777777")).isTrue();
+        }
+
+        @Test
+        public void testThatBatchCreateUpdateBooksWithoutIsbnReturnsHttp400() throws Exception {
+                List<BookDto> books = List.of(TestDataUtil.createTestBookDto(null, "Rust", null));
+
+                mockMvc.perform(
+                                MockMvcRequestBuilders.put("/books/batch")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(objectMapper.writeValueAsString(books)))
+                                .andExpect(
+                                                MockMvcResultMatchers.status().isBadRequest());
+        }
+
         @Test
         public void testThatPartialUpdateBookSuccessfullyReturnsHttp200Updated() throws Exception {
                 AuthorEntity authorEntity = TestDataUtil.createTestAuthor(1L, "Alex", 39);
@@ -186,6 +245,90 @@ public class BookControllerIntegrationTests {
                                                 MockMvcResultMatchers.jsonPath("$.size").value("20"));
         }
 
+        @Test
+        public void testThatListBooksWithLimitReturnsFirstPageAndCursor() throws Exception {
+                AuthorEntity author = TestDataUtil.createTestAuthor(null, "Dora", 7);
+                for (int i = 0; i < 40; i++) {
+                        BookEntity bookEntity = TestDataUtil.createTestBook(String.format("%02d", i), "Java" + i, author);
+                        bookService.createUpdateBook(bookEntity.getIsbn(), bookEntity);
+                }
+
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get("/books?limit=15")
+                                                .contentType(MediaType.APPLICATION_JSON))
+                                .andExpect(
+                                                MockMvcResultMatchers.status().isOk())
+                                .andExpect(
+                                                MockMvcResultMatchers.jsonPath("$.content.length()").value(15))
+                                .andExpect(
+                                                MockMvcResultMatchers.jsonPath("$.content[0].isbn").value("00"))
+                                .andExpect(
+                                                MockMvcResultMatchers.jsonPath("$.content[14].isbn").value("14"))
+                                .andExpect(
+                                                MockMvcResultMatchers.jsonPath("$.nextCursor").isString())
+                                .andExpect(
+                                                MockMvcResultMatchers.jsonPath("$.totalPages").doesNotExist());
+        }
+
+        @Test
+        public void testThatListBooksFollowingCursorsVisitsEveryBookOnce() throws Exception {
+                AuthorEntity author = TestDataUtil.createTestAuthor(null, "Dora", 7);
+                for (int i = 0; i < 40; i++) {
+                        BookEntity bookEntity = TestDataUtil.createTestBook(String.format("%02d", i), "Java" + i, author);
+                        bookService.createUpdateBook(bookEntity.getIsbn(), bookEntity);
+                }
+
+                List<String> isbns = new ArrayList<>();
+                String cursor = null;
+                do {
+                        String url = "/books?limit=15" + (cursor == null ? "" : "&after=" + cursor);
+                        String body = mockMvc.perform(MockMvcRequestBuilders.get(url))
+                                        .andExpect(MockMvcResultMatchers.status().isOk())
+                                        .andReturn().getResponse().getContentAsString();
+                        JsonNode page = objectMapper.readTree(body);
+                        page.get("content").forEach(book -> isbns.add(book.get("isbn").asText()));
+                        cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+                } while (cursor != null);
+
+                assertThat(isbns).hasSize(40).doesNotHaveDuplicates().isSorted();
+        }
+
+        @Test
+        public void testThatListBooksWithInvalidCursorReturnsHttp400() throws Exception {
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get("/books")
+                                                .param("limit", "15")
+                                                .param("after", "!!!")
+                                                .contentType(MediaType.APPLICATION_JSON))
+                                .andExpect(
+                                                MockMvcResultMatchers.status().isBadRequest());
+        }
+
+        @Test
+        public void testThatExportBooksStreamsOneJsonDocumentPerLine() throws Exception {
+                AuthorEntity author = TestDataUtil.createTestAuthor(null, "Dora", 7);
+                for (int i = 0; i < 3; i++) {
+                        BookEntity bookEntity = TestDataUtil.createTestBook(String.valueOf(i), "Java" + i, author);
+                        bookService.createUpdateBook(bookEntity.getIsbn(), bookEntity);
+                }
+
+                MvcResult result = mockMvc.perform(
+                                MockMvcRequestBuilders.get("/books/export"))
+                                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                                .andReturn();
+                String body = mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                                .andReturn().getResponse().getContentAsString();
+
+                List<String> lines = body.lines().toList();
+                assertThat(lines).hasSize(3);
+                JsonNode first = objectMapper.readTree(lines.get(0));
+                assertThat(first.get("isbn").asText()).isEqualTo("0");
+                assertThat(first.get("book_title").asText()).isEqualTo("Java0");
+                assertThat(first.get("author").get("numberOfBooks").asInt()).isEqualTo(1);
+        }
+
         @Test
         public void testThatGetBookReturnsHttpStatus200() throws Exception {
                 AuthorEntity author = TestDataUtil.createTestAuthor(1L, "Alex", 40);
@@ -223,6 +366,238 @@ public class BookControllerIntegrationTests {
                                                 MockMvcResultMatchers.jsonPath("$.author.age").value(40));
         }
 
+        @Test
+        public void testThatGetBookIssuesOneStatementThenHitsCache() throws Exception {
+                AuthorEntity author = TestDataUtil.createTestAuthor(null, "Jess", 40);
+                BookEntity bookEntity = TestDataUtil.createTestBook("123456789", "Kotlin", author);
+                bookService.createUpdateBook(bookEntity.getIsbn(), bookEntity);
+
+                // The eager author comes from a join, not a second select.
+                SqlStatementBudget.assertAtMost(sqlStatementCounter, 1, () -> mockMvc.perform(
+                                MockMvcRequestBuilders.get("/books/123456789"))
+                                .andExpect(MockMvcResultMatchers.status().isOk()));
+                SqlStatementBudget.assertAtMost(sqlStatementCounter, 0, () -> mockMvc.perform(
+                                MockMvcRequestBuilders.get("/books/123456789"))
+                                .andExpect(MockMvcResultMatchers.status().isOk()));
+        }
+
+        @Test
+        public void testThatListBooksIssuesAtMostTwoStatements() throws Exception {
+                for (int i = 0; i < 3; i++) {
+                        AuthorEntity author = TestDataUtil.createTestAuthor(null, "Author" + i, 40);
+                        BookEntity book = TestDataUtil.createTestBook(String.valueOf(i), "Java" + i, author);
+                        bookService.createUpdateBook(book.getIsbn(), book);
+                }
+
+                // The joined page query plus the count query, however many distinct authors the page holds.
+                SqlStatementBudget.assertAtMost(sqlStatementCounter, 2, () -> mockMvc.perform(
+                                MockMvcRequestBuilders.get("/books?size=2&sort=isbn"))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].author.author_name")
+                                                .value("Author0")));
+        }
+
+        @Test
+        public void testThatListBooksAfterCursorFetchesAuthorsInTheSameQuery() throws Exception {
+                for (int i = 0; i < 3; i++) {
+                        AuthorEntity author = TestDataUtil.createTestAuthor(null, "Author" + i, 40);
+                        BookEntity book = TestDataUtil.createTestBook(String.valueOf(i), "Java" + i, author);
+                        bookService.createUpdateBook(book.getIsbn(), book);
+                }
+
+                // The lazy author is loaded through the entity graph, not by one select per book.
+                SqlStatementBudget.assertAtMost(sqlStatementCounter, 1, () -> mockMvc.perform(
+                                MockMvcRequestBuilders.get("/books?limit=3"))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.content[2].author.author_name")
+                                                .value("Author2")));
+        }
+
+        @Test
+        public void testThatGetBookReturnsHttp304WhenETagMatches() throws Exception {
+                BookEntity bookEntity = TestDataUtil.createTestBook("123456789", "Kotlin", null);
+                bookService.createUpdateBook(bookEntity.getIsbn(), bookEntity);
+
+                MvcResult result = mockMvc.perform(
+                                MockMvcRequestBuilders.get("/books/123456789"))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+                                .andReturn();
+                String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get("/books/123456789")
+                                                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, eTag))
+                                .andExpect(MockMvcResultMatchers.content().string(""));
+        }
+
+        @Test
+        public void testThatPartialUpdateBookWithCurrentIfMatchReturnsNewETag() throws Exception {
+                BookEntity bookEntity = TestDataUtil.createTestBook("123456789", "Kotlin", null);
+                bookService.createUpdateBook(bookEntity.getIsbn(), bookEntity);
+
+                BookDto bookDto = TestDataUtil.createTestBookDto(null, "Kotlin 2nd Edition", null);
+                mockMvc.perform(
+                                MockMvcRequestBuilders.patch("/books/123456789")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                                                .content(objectMapper.writeValueAsString(bookDto)))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"1\""));
+        }
+
+        @Test
+        public void testThatPartialUpdateBookWithStaleIfMatchReturnsHttp412() throws Exception {
+                BookEntity bookEntity = TestDataUtil.createTestBook("123456789", "Kotlin", null);
+                bookService.createUpdateBook(bookEntity.getIsbn(), bookEntity);
+                bookService.partialUpdate("123456789", TestDataUtil.createTestBook(null, "Kotlin 2nd Edition", null));
+
+                BookDto bookDto = TestDataUtil.createTestBookDto(null, "Kotlin 3rd Edition", null);
+                mockMvc.perform(
+                                MockMvcRequestBuilders.patch("/books/123456789")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                                                .content(objectMapper.writeValueAsString(bookDto)))
+                                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+                assertThat(bookService.findOne("123456789")).get().extracting(BookEntity::getTitle)
+                                .isEqualTo("Kotlin 2nd Edition");
+        }
+
+        @Test
+        public void testThatUpdateBookWithStaleIfMatchReturnsHttp412() throws Exception {
+                BookEntity bookEntity = TestDataUtil.createTestBook("123456789", "Kotlin", null);
+                bookService.createUpdateBook(bookEntity.getIsbn(), bookEntity);
+                bookService.partialUpdate("123456789", TestDataUtil.createTestBook(null, "Kotlin 2nd Edition", null));
+
+                BookDto bookDto = TestDataUtil.createTestBookDto("123456789", "Kotlin 3rd Edition", null);
+                mockMvc.perform(
+                                MockMvcRequestBuilders.put("/books/123456789")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                                                .content(objectMapper.writeValueAsString(bookDto)))
+                                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+
+                assertThat(bookService.findOne("123456789")).get().extracting(BookEntity::getTitle)
+                                .isEqualTo("Kotlin 2nd Edition");
+        }
+
+        @Test
+        public void testThatUpdateBookWithMalformedIfMatchReturnsHttp412() throws Exception {
+                BookEntity bookEntity = TestDataUtil.createTestBook("123456789", "Kotlin", null);
+                bookService.createUpdateBook(bookEntity.getIsbn(), bookEntity);
+
+                BookDto bookDto = TestDataUtil.createTestBookDto("123456789", "Kotlin 2nd Edition", null);
+                for (String ifMatch : List.of("W/\"0\"", "\"abc\"", "0")) {
+                        mockMvc.perform(
+                                        MockMvcRequestBuilders.put("/books/123456789")
+                                                        .contentType(MediaType.APPLICATION_JSON)
+                                                        .header(HttpHeaders.IF_MATCH, ifMatch)
+                                                        .content(objectMapper.writeValueAsString(bookDto)))
+                                        .andExpect(MockMvcResultMatchers.status().isPreconditionFailed());
+                }
+
+                assertThat(bookService.findOne("123456789")).get().extracting(BookEntity::getTitle)
+                                .isEqualTo("Kotlin");
+        }
+
+        // Open-in-view is off, so every response below is mapped, and its ETag computed, after the
+        // service's transaction has closed: an author that was not fetched with the book would fail.
+        @Test
+        public void testThatBooksAreMappedWithTheirAuthorOutsideTheTransaction() throws Exception {
+                BookEntity bookEntity = TestDataUtil.createTestBook("123456789", "Kotlin",
+                                TestDataUtil.createTestAuthor(null, "Dora", 7));
+                bookService.createUpdateBook(bookEntity.getIsbn(), bookEntity);
+
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get("/books/123456789"))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.author.author_name").value("Dora"))
+                                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"0.0.1\""));
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get("/books").param("limit", "10"))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].author.author_name")
+                                                .value("Dora"));
+
+                BookDto bookDto = TestDataUtil.createTestBookDto(null, "Kotlin 2nd Edition", null);
+                mockMvc.perform(
+                                MockMvcRequestBuilders.patch("/books/123456789")
+                                                .contentType(MediaType.APPLICATION_JSON)
+                                                .content(objectMapper.writeValueAsString(bookDto)))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.author.author_name").value("Dora"))
+                                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"1.0.1\""));
+        }
+
+        @Test
+        public void testThatCreateBookAcceptsCborAndGetBookReturnsSmile() throws Exception {
+                AuthorDto author = TestDataUtil.createTestAuthorDto(null, "Dora", 7);
+                BookDto bookDto = TestDataUtil.createTestBookDto("1234567890", "Java", author);
+                MediaType cbor = MediaType.parseMediaType("application/cbor");
+                MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+
+                MvcResult created = mockMvc.perform(
+                                MockMvcRequestBuilders.put("/books/" + bookDto.getIsbn())
+                                                .contentType(cbor)
+                                                .accept(cbor)
+                                                .content(new CBORMapper().writeValueAsBytes(bookDto)))
+                                .andExpect(MockMvcResultMatchers.status().isCreated())
+                                .andExpect(MockMvcResultMatchers.content().contentType(cbor))
+                                .andReturn();
+                JsonNode createdBook = new CBORMapper().readTree(created.getResponse().getContentAsByteArray());
+                assertThat(createdBook.path("book_title").asText()).isEqualTo("Java");
+
+                MvcResult found = mockMvc.perform(
+                                MockMvcRequestBuilders.get("/books/" + bookDto.getIsbn())
+                                                .accept(smile))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.content().contentType(smile))
+                                .andReturn();
+                JsonNode foundBook = new SmileMapper().readTree(found.getResponse().getContentAsByteArray());
+                assertThat(foundBook.path("book_title").asText()).isEqualTo("Java");
+                assertThat(foundBook.path("author").path("author_name").asText()).isEqualTo("Dora");
+        }
+
+        @Test
+        public void testThatSearchBooksReturnsRankedMatchesWithoutQueries() throws Exception {
+                bookService.createUpdateBook("1", TestDataUtil.createTestBook("1", "Effective Java", null));
+                bookService.createUpdateBook("2", TestDataUtil.createTestBook("2", "Java", null));
+                bookService.createUpdateBook("3", TestDataUtil.createTestBook("3", "Kotlin in Action", null));
+
+                SqlStatementBudget.assertAtMost(sqlStatementCounter, 0, () -> mockMvc.perform(
+                                MockMvcRequestBuilders.get("/books/search?q=JAVA"))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$[0].isbn").value("2"))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$[1].book_title").value("Effective Java")));
+        }
+
+        @Test
+        public void testThatSearchBooksFollowsUpdatesAndDeletes() throws Exception {
+                bookService.createUpdateBook("1", TestDataUtil.createTestBook("1", "Effective Java", null));
+                bookService.createUpdateBook("2", TestDataUtil.createTestBook("2", "Java Concurrency", null));
+                bookService.partialUpdate("1", TestDataUtil.createTestBook(null, "Effective Kotlin", null));
+                bookService.delete("2");
+
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get("/books/search?q=java"))
+                                .andExpect(MockMvcResultMatchers.status().isOk())
+                                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(0));
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get("/books/search").param("q", "effective kotlin"))
+                                .andExpect(MockMvcResultMatchers.jsonPath("$[0].isbn").value("1"));
+        }
+
+        @Test
+        public void testThatSearchBooksRejectsOversizedLimit() throws Exception {
+                mockMvc.perform(
+                                MockMvcRequestBuilders.get("/books/search?q=java&limit=101"))
+                                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        }
+
         @Test
         public void testThatDeleteBookReturnsHttp204WhenNoExist() throws Exception {
                 mockMvc.perform(
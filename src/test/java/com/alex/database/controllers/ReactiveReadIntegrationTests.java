@@ -0,0 +1,99 @@
+package com.alex.database.controllers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.alex.database.TestDataUtil;
+import com.alex.database.domain.entities.AuthorEntity;
+import com.alex.database.domain.entities.BookEntity;
+import com.alex.database.services.BookService;
+
+// The R2DBC URL opens the same in-memory H2 database the JPA side writes to.
+@SpringBootTest(properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.r2dbc.url=r2dbc:h2:mem:///testdb?options=MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=password" })
+@ActiveProfiles("reactive")
+@AutoConfigureWebTestClient
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ReactiveReadIntegrationTests {
+
+        private final WebTestClient webTestClient;
+        private final BookService bookService;
+
+        @Autowired
+        public ReactiveReadIntegrationTests(WebTestClient webTestClient, BookService bookService) {
+                this.webTestClient = webTestClient;
+                this.bookService = bookService;
+        }
+
+        @Test
+        public void testThatGetBookReturnsBookDtoWithETag() {
+                AuthorEntity author = TestDataUtil.createTestAuthor(null, "Dora", 7);
+                bookService.createUpdateBook("123", TestDataUtil.createTestBook("123", "Java", author));
+
+                String eTag = webTestClient.get().uri("/books/123").exchange()
+                                .expectStatus().isOk()
+                                .expectHeader().exists(HttpHeaders.ETAG)
+                                .expectBody()
+                                .jsonPath("$.isbn").isEqualTo("123")
+                                .jsonPath("$.book_title").isEqualTo("Java")
+                                .jsonPath("$.author.author_name").isEqualTo("Dora")
+                                .jsonPath("$.author.numberOfBooks").isEqualTo(1)
+                                .returnResult().getResponseHeaders().getETag();
+
+                webTestClient.get().uri("/books/123").header(HttpHeaders.IF_NONE_MATCH, eTag).exchange()
+                                .expectStatus().isNotModified();
+        }
+
+        @Test
+        public void testThatGetBookReturnsHttp404WhenNotFound() {
+                webTestClient.get().uri("/books/999").exchange()
+                                .expectStatus().isNotFound();
+        }
+
+        @Test
+        public void testThatListBooksReturnsSortedPage() {
+                bookService.createUpdateBook("1", TestDataUtil.createTestBook("1", "Alpha", null));
+                bookService.createUpdateBook("2", TestDataUtil.createTestBook("2", "Beta", null));
+
+                webTestClient.get().uri("/books?size=1&sort=title,desc").exchange()
+                                .expectStatus().isOk()
+                                .expectBody()
+                                .jsonPath("$.content.length()").isEqualTo(1)
+                                .jsonPath("$.content[0].book_title").isEqualTo("Beta")
+                                .jsonPath("$.totalElements").isEqualTo(2);
+        }
+
+        @Test
+        public void testThatListBooksRejectsUnsortableProperty() {
+                webTestClient.get().uri("/books?sort=version").exchange()
+                                .expectStatus().isBadRequest();
+        }
+
+        @Test
+        public void testThatGetAuthorReturnsAuthorDto() {
+                AuthorEntity author = TestDataUtil.createTestAuthor(null, "Dora", 7);
+                BookEntity book = bookService.createUpdateBook("123", TestDataUtil.createTestBook("123", "Java", author));
+
+                webTestClient.get().uri("/authors/" + book.getAuthorEntity().getId()).exchange()
+                                .expectStatus().isOk()
+                                .expectHeader().exists(HttpHeaders.ETAG)
+                                .expectBody()
+                                .jsonPath("$.author_name").isEqualTo("Dora")
+                                .jsonPath("$.age").isEqualTo(7);
+        }
+
+        @Test
+        public void testThatWritesAreNotServed() {
+                webTestClient.put().uri("/books/123").exchange()
+                                .expectStatus().isNotFound();
+        }
+}
@@ -0,0 +1,25 @@
+package com.alex.database.jobs;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.alex.database.repositories.AuthorRepository;
+
+// The startup run is off by default; every other @SpringBootTest starts without it.
+@SpringBootTest(properties = "app.authors.book-count-reconciliation-on-startup=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class AuthorBookCountReconciliationJobIntegrationTests {
+
+    @SpyBean
+    private AuthorRepository authorRepository;
+
+    @Test
+    public void testThatStartupReconcilesOnceWhenEnabled() {
+        verify(authorRepository, times(1)).reconcileNumberOfBooks();
+    }
+}
@@ -0,0 +1,73 @@
+package com.alex.database.mappers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.junit.jupiter.api.Test;
+
+import com.alex.database.TestDataUtil;
+import com.alex.database.domain.dto.AuthorDto;
+import com.alex.database.domain.dto.BookDto;
+import com.alex.database.domain.entities.AuthorEntity;
+import com.alex.database.domain.entities.BookEntity;
+import com.alex.database.mappers.impl.AuthorMapperImpl;
+import com.alex.database.mappers.impl.BookMapperImpl;
+
+public class BookMapperUnitTests {
+
+    private final Mapper<BookEntity, BookDto> underTest = new BookMapperImpl(new AuthorMapperImpl());
+
+    @Test
+    public void testThatMapToCopiesBookAndNestedAuthor() {
+        AuthorEntity author = TestDataUtil.createTestAuthor(1L, "Alex", 40);
+        author.setNumberOfBooks(2);
+        BookEntity book = TestDataUtil.createTestBook("1234567890", "Java", author);
+
+        BookDto result = underTest.mapTo(book);
+
+        assertThat(result.getIsbn()).isEqualTo("1234567890");
+        assertThat(result.getTitle()).isEqualTo("Java");
+        assertThat(result.getAuthor().getId()).isEqualTo(1L);
+        assertThat(result.getAuthor().getName()).isEqualTo("Alex");
+        assertThat(result.getAuthor().getAge()).isEqualTo(40);
+        assertThat(result.getAuthor().getNumberOfBooks()).isEqualTo(2);
+    }
+
+    @Test
+    public void testThatMapFromCopiesBookAndNestedAuthor() {
+        AuthorDto author = TestDataUtil.createTestAuthorDto(1L, "Alex", 40);
+        BookDto book = TestDataUtil.createTestBookDto("1234567890", "Java", author);
+
+        BookEntity result = underTest.mapFrom(book);
+
+        assertThat(result).isEqualTo(
+                TestDataUtil.createTestBook("1234567890", "Java", TestDataUtil.createTestAuthor(1L, "Alex", 40)));
+    }
+
+    @Test
+    public void testThatUnfetchedAuthorFailsFast() {
+        AuthorEntity author = mock(AuthorEntity.class, withSettings().extraInterfaces(HibernateProxy.class));
+        LazyInitializer lazyInitializer = mock(LazyInitializer.class);
+        when(((HibernateProxy) author).asHibernateProxy()).thenReturn((HibernateProxy) author);
+        when(((HibernateProxy) author).getHibernateLazyInitializer()).thenReturn(lazyInitializer);
+        when(lazyInitializer.isUninitialized()).thenReturn(true);
+        BookEntity book = TestDataUtil.createTestBook("1234567890", "Java", author);
+
+        assertThatThrownBy(() -> underTest.mapTo(book))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("1234567890");
+    }
+
+    @Test
+    public void testThatMissingAuthorIsMappedToNull() {
+        BookEntity book = TestDataUtil.createTestBook("1234567890", "Java", null);
+
+        assertThat(underTest.mapTo(book).getAuthor()).isNull();
+        assertThat(underTest.mapFrom(underTest.mapTo(book)).getAuthorEntity()).isNull();
+    }
+}
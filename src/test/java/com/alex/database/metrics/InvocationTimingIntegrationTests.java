@@ -0,0 +1,75 @@
+package com.alex.database.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.alex.database.TestDataUtil;
+import com.alex.database.services.AuthorService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class InvocationTimingIntegrationTests {
+
+    private final MockMvc mockMvc;
+
+    private final AuthorService authorService;
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public InvocationTimingIntegrationTests(MockMvc mockMvc, AuthorService authorService,
+            MeterRegistry meterRegistry) {
+        this.mockMvc = mockMvc;
+        this.authorService = authorService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Test
+    public void testThatListAuthorsIsTimedPerLayer() throws Exception {
+        authorService.save(TestDataUtil.createTestAuthor(null, "Alex", 40));
+        authorService.save(TestDataUtil.createTestAuthor(null, "Jess", 40));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        assertThat(timer(InvocationTimingAspect.SERVICE_TIMER, "AuthorServiceImpl.findAll").count()).isEqualTo(1);
+        assertThat(timer(InvocationTimingAspect.MAPPER_TIMER, "AuthorMapperImpl.mapTo").count()).isEqualTo(2);
+        assertThat(timer("spring.data.repository.invocations", "AuthorRepository.findAll").count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatFailuresAreTaggedAsErrors() {
+        assertThatThrownBy(() -> authorService.partialUpdate(42L, TestDataUtil.createTestAuthor(null, "Alex", 40)))
+                .hasMessage("Author does not exist");
+
+        assertThat(meterRegistry.find(InvocationTimingAspect.SERVICE_TIMER)
+                .tags("operation", "AuthorServiceImpl.partialUpdate", "outcome", "error")
+                .timer()).isNotNull();
+    }
+
+    @Test
+    public void testThatOnlyServiceInterfaceMethodsAreTimed() {
+        authorService.save(TestDataUtil.createTestAuthor(null, "Alex", 40));
+
+        assertThat(meterRegistry.find(InvocationTimingAspect.SERVICE_TIMER).timers())
+                .extracting(timer -> timer.getId().getTag("operation"))
+                .containsExactly("AuthorServiceImpl.save");
+    }
+
+    private Timer timer(String name, String operation) {
+        return meterRegistry.get(name).tags("operation", operation, "outcome", "success").timer();
+    }
+}
@@ -0,0 +1,52 @@
+package com.alex.database.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.alex.database.TestDataUtil;
+import com.alex.database.services.AuthorService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest
+@ActiveProfiles("dev")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class SqlStatementHeaderIntegrationTests {
+
+    private final MockMvc mockMvc;
+
+    private final AuthorService authorService;
+
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public SqlStatementHeaderIntegrationTests(MockMvc mockMvc, AuthorService authorService,
+            MeterRegistry meterRegistry) {
+        this.mockMvc = mockMvc;
+        this.authorService = authorService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Test
+    public void testThatResponsesCarryStatementCountsInDevProfile() throws Exception {
+        authorService.save(TestDataUtil.createTestAuthor(null, "Alex", 40));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors"))
+                .andExpect(MockMvcResultMatchers.header().string(SqlStatementHeaderAdvice.COUNT_HEADER, "1"))
+                .andExpect(MockMvcResultMatchers.header().string(SqlStatementHeaderAdvice.BREAKDOWN_HEADER,
+                        "select=1"));
+
+        assertThat(meterRegistry.get("app.http.sql.statements").tags("uri", "/authors", "kind", "select")
+                .summary().totalAmount()).isEqualTo(1);
+    }
+}
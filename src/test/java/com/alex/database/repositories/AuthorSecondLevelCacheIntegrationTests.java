@@ -0,0 +1,96 @@
+package com.alex.database.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.alex.database.TestDataUtil;
+import com.alex.database.domain.entities.AuthorEntity;
+import com.alex.database.services.BookService;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+// Not a @DataJpaTest: each repository call needs its own session, otherwise the first-level cache
+// answers before the second-level one is consulted.
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class AuthorSecondLevelCacheIntegrationTests {
+
+    private final AuthorRepository authorRepository;
+
+    private final BookService bookService;
+
+    private final Statistics statistics;
+
+    private final Cache secondLevelCache;
+
+    @Autowired
+    public AuthorSecondLevelCacheIntegrationTests(AuthorRepository authorRepository, BookService bookService,
+            EntityManagerFactory entityManagerFactory) {
+        this.authorRepository = authorRepository;
+        this.bookService = bookService;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.secondLevelCache = entityManagerFactory.getCache();
+    }
+
+    @BeforeEach
+    public void resetStatistics() {
+        statistics.clear();
+    }
+
+    @Test
+    public void testThatAuthorIsServedFromSecondLevelCache() {
+        AuthorEntity author = authorRepository.save(TestDataUtil.createTestAuthor(1L, "Alex", 40));
+        statistics.clear();
+
+        assertThat(authorRepository.findById(author.getId())).contains(author);
+        assertThat(authorRepository.findById(author.getId())).contains(author);
+
+        assertThat(statistics.getDomainDataRegionStatistics(AuthorEntity.CACHE_REGION).getHitCount())
+                .isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    public void testThatAgeQueryIsServedFromQueryCache() {
+        authorRepository.save(TestDataUtil.createTestAuthor(1L, "Alex", 40));
+        authorRepository.save(TestDataUtil.createTestAuthor(2L, "Dora", 8));
+
+        assertThat(authorRepository.ageLessThan(40)).hasSize(1);
+        assertThat(authorRepository.ageLessThan(40)).hasSize(1);
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatAuthorWriteInvalidatesCachedAgeQuery() {
+        authorRepository.save(TestDataUtil.createTestAuthor(1L, "Alex", 40));
+        assertThat(authorRepository.findAuthorsWithAgeGreaterThan(10)).hasSize(1);
+
+        authorRepository.save(TestDataUtil.createTestAuthor(2L, "Jess", 50));
+
+        assertThat(authorRepository.findAuthorsWithAgeGreaterThan(10)).hasSize(2);
+    }
+
+    @Test
+    public void testThatABookWriteEvictsOnlyItsAuthor() {
+        AuthorEntity alex = authorRepository.save(TestDataUtil.createTestAuthor(1L, "Alex", 40));
+        AuthorEntity dora = authorRepository.save(TestDataUtil.createTestAuthor(2L, "Dora", 8));
+        authorRepository.findById(alex.getId());
+        authorRepository.findById(dora.getId());
+        assertThat(secondLevelCache.contains(AuthorEntity.class, dora.getId())).isTrue();
+
+        bookService.createUpdateBook("1", TestDataUtil.createTestBook("1", "Java", alex));
+
+        assertThat(secondLevelCache.contains(AuthorEntity.class, alex.getId())).isFalse();
+        assertThat(secondLevelCache.contains(AuthorEntity.class, dora.getId())).isTrue();
+        assertThat(authorRepository.findById(alex.getId()).orElseThrow().getNumberOfBooks()).isEqualTo(1);
+    }
+}
@@ -1,9 +1,11 @@
 package com.alex.database.repositories;
 
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.annotation.DirtiesContext;
 import com.alex.database.TestDataUtil;
 import com.alex.database.domain.entities.AuthorEntity;
@@ -102,4 +104,37 @@ public class BookRepositoryIntegrationTests {
         int numberOfBooks = underTest.countByAuthorEntity_Id(author.getId());
         assertThat(numberOfBooks).isEqualTo(3);
     }
+
+    @Test
+    public void testThatFindByIsbnGreaterThanSeeksPastCursor() {
+        AuthorEntity author = TestDataUtil.createTestAuthor(1L, "Jess", 40);
+
+        underTest.save(TestDataUtil.createTestBook("3", "Go", author));
+        underTest.save(TestDataUtil.createTestBook("1", "Java", author));
+        underTest.save(TestDataUtil.createTestBook("2", "Rust", author));
+
+        List<BookEntity> result = underTest.findByIsbnGreaterThanOrderByIsbnAsc("1", Limit.of(1));
+        assertThat(result).extracting(BookEntity::getIsbn).containsExactly("2");
+    }
+
+    @Test
+    public void testThatUpsertReportsInsertThenUpdate() {
+        BookUpsertRepository.Result inserted = underTest.upsert("1", "Java", null, null).orElseThrow();
+        BookUpsertRepository.Result updated = underTest.upsert("1", "Rust", null, null).orElseThrow();
+
+        assertThat(inserted.inserted()).isTrue();
+        assertThat(inserted.version()).isZero();
+        assertThat(updated.inserted()).isFalse();
+        assertThat(updated.version()).isEqualTo(1);
+        assertThat(underTest.findById("1")).get().extracting(BookEntity::getTitle).isEqualTo("Rust");
+    }
+
+    @Test
+    public void testThatUpsertWithStaleVersionLeavesRowUntouched() {
+        underTest.upsert("1", "Java", null, null);
+        underTest.upsert("1", "Rust", null, null);
+
+        assertThat(underTest.upsert("1", "Go", null, 0L)).isEmpty();
+        assertThat(underTest.findById("1")).get().extracting(BookEntity::getTitle).isEqualTo("Rust");
+    }
 }
@@ -0,0 +1,56 @@
+package com.alex.database.routing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.alex.database.TestDataUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.Cookie;
+
+// As ReplicaRoutingIntegrationTests, but with the books cache on: the empty replica makes every cached miss stale.
+@SpringBootTest(properties = {
+        "app.datasource.replica.url=" + ReplicaRoutingIntegrationTests.REPLICA_URL,
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password=password" })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class ReplicaRoutingCacheIntegrationTests {
+
+    private final MockMvc mockMvc;
+
+    @Autowired
+    public ReplicaRoutingCacheIntegrationTests(MockMvc mockMvc) {
+        this.mockMvc = mockMvc;
+    }
+
+    @Test
+    public void testThatAPinnedClientReadsPastAStaleCacheEntry() throws Exception {
+        String bookJson = new ObjectMapper()
+                .writeValueAsString(TestDataUtil.createTestBookDto("1234567890", "Java", null));
+        MvcResult write = mockMvc.perform(MockMvcRequestBuilders.put("/books/1234567890")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(bookJson))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andReturn();
+        Cookie pin = write.getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+
+        // Another client's miss caches the replica's answer
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/1234567890"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/1234567890").cookie(pin))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.book_title").value("Java"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/1234567890"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+}
@@ -0,0 +1,136 @@
+package com.alex.database.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.alex.database.TestDataUtil;
+import com.alex.database.domain.entities.BookEntity;
+import com.alex.database.services.BookService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.Cookie;
+
+// A second in-memory H2 database stands in for the replica; nothing replicates to it unless a test copies rows.
+@SpringBootTest(properties = {
+        "app.datasource.replica.url=" + ReplicaRoutingIntegrationTests.REPLICA_URL,
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password=password",
+        "spring.cache.type=none" })
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@AutoConfigureMockMvc
+public class ReplicaRoutingIntegrationTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replicadb;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+            + "DEFAULT_NULL_ORDERING=HIGH;INIT=RUNSCRIPT FROM 'classpath:replica-schema.sql'";
+
+    private final MockMvc mockMvc;
+
+    private final BookService bookService;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", "password"));
+
+    @Autowired
+    public ReplicaRoutingIntegrationTests(MockMvc mockMvc, BookService bookService) {
+        this.mockMvc = mockMvc;
+        this.bookService = bookService;
+    }
+
+    @Test
+    public void testThatReadsGoToTheReplica() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook("1234567890", "Java", null);
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/1234567890"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+        assertThat(bookService.isExists("1234567890")).isFalse();
+
+        replica.update("INSERT INTO books (isbn, title) VALUES ('1234567890', 'Java')");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/1234567890"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.book_title").value("Java"));
+    }
+
+    @Test
+    public void testThatListingsGoToTheReplica() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook("1234567890", "Java", null);
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/books"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content").isEmpty());
+        mockMvc.perform(MockMvcRequestBuilders.get("/books").param("limit", "10"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content").isEmpty());
+
+        replica.update("INSERT INTO books (isbn, title) VALUES ('1234567890', 'Java')");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/books"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].book_title").value("Java"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/books").param("limit", "10"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].book_title").value("Java"));
+    }
+
+    @Test
+    public void testThatAgeQueriesGoToTheReplica() throws Exception {
+        String authorJson = new ObjectMapper().writeValueAsString(TestDataUtil.createTestAuthorDto(null, "Alex", 40));
+        mockMvc.perform(MockMvcRequestBuilders.post("/authors")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(authorJson))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors").param("minAge", "30"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content").isEmpty());
+
+        replica.update("INSERT INTO authors (id, name, age) VALUES (1, 'Alex', 40)");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/authors").param("minAge", "30"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].author_name").value("Alex"));
+    }
+
+    @Test
+    public void testThatAClientReadsItsOwnWritesFromThePrimary() throws Exception {
+        String bookJson = new ObjectMapper()
+                .writeValueAsString(TestDataUtil.createTestBookDto("1234567890", "Java", null));
+        MvcResult write = mockMvc.perform(MockMvcRequestBuilders.put("/books/1234567890")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(bookJson))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andReturn();
+        Cookie pin = write.getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+
+        assertThat(pin).isNotNull();
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM books", Integer.class)).isZero();
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/1234567890").cookie(pin))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.book_title").value("Java"));
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/1234567890"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    public void testThatAForgedPinBeyondTheWindowIsIgnored() throws Exception {
+        BookEntity book = TestDataUtil.createTestBook("1234567890", "Java", null);
+        bookService.createUpdateBook(book.getIsbn(), book);
+        Cookie forged = new Cookie(ReadYourWritesFilter.COOKIE, Long.toString(Long.MAX_VALUE));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/books/1234567890").cookie(forged))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+}
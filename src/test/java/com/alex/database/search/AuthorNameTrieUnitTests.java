@@ -0,0 +1,69 @@
+package com.alex.database.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class AuthorNameTrieUnitTests {
+
+    private final AuthorNameTrie underTest = new AuthorNameTrie();
+
+    @Test
+    public void testThatKeysStartAtEveryWord() {
+        assertThat(AuthorNameTrie.keys("J. K. Rówling")).containsExactly("j k rowling", "k rowling", "rowling");
+    }
+
+    @Test
+    public void testThatSuggestMatchesWordPrefixesMostBooksFirst() {
+        underTest.put(1L, "Ann Rowan", 2);
+        underTest.put(2L, "J. K. Rowling", 7);
+        underTest.put(3L, "Robert Galbraith", 1);
+
+        assertThat(underTest.suggest("ro", 10)).extracting(AuthorNameTrie.Suggestion::id)
+                .containsExactly(2L, 1L, 3L);
+        assertThat(underTest.suggest("rowl", 10)).extracting(AuthorNameTrie.Suggestion::id).containsExactly(2L);
+        assertThat(underTest.suggest("ann r", 10)).extracting(AuthorNameTrie.Suggestion::id).containsExactly(1L);
+        assertThat(underTest.suggest("rox", 10)).isEmpty();
+        assertThat(underTest.suggest("", 10)).isEmpty();
+    }
+
+    @Test
+    public void testThatBookCountChangesReorderSuggestions() {
+        underTest.put(1L, "Ann Rowan", 2);
+        underTest.put(2L, "Bob Rowe", 1);
+
+        underTest.adjustNumberOfBooks(2L, 5);
+
+        assertThat(underTest.suggest("row", 1)).extracting(AuthorNameTrie.Suggestion::numberOfBooks)
+                .containsExactly(6);
+    }
+
+    @Test
+    public void testThatRenameKeepsBookCountAndRemovePrunesNodes() {
+        underTest.put(1L, "Ann Rowan", 2);
+        int nodesWithOneAuthor = underTest.footprint().nodes();
+        underTest.put(2L, "Bob Rowe", 0);
+
+        underTest.put(1L, "Ann Smith", 0);
+        underTest.remove(2L);
+
+        assertThat(underTest.suggest("row", 10)).isEmpty();
+        assertThat(underTest.suggest("smith", 10)).extracting(AuthorNameTrie.Suggestion::numberOfBooks)
+                .containsExactly(2);
+        assertThat(underTest.footprint().nodes()).isEqualTo(nodesWithOneAuthor);
+        assertThat(underTest.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatOnlyTopSuggestionsAreKeptPerNode() {
+        for (long id = 0; id < 50; id++) {
+            underTest.put(id, "Author " + id, (int) id);
+        }
+
+        assertThat(underTest.suggest("author", AuthorNameTrie.MAX_SUGGESTIONS))
+                .extracting(AuthorNameTrie.Suggestion::id)
+                .containsExactly(49L, 48L, 47L, 46L, 45L, 44L, 43L, 42L, 41L, 40L);
+        assertThat(underTest.suggest("4", 3)).extracting(AuthorNameTrie.Suggestion::id)
+                .containsExactly(49L, 48L, 47L);
+    }
+}
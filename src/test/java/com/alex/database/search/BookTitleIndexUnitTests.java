@@ -0,0 +1,103 @@
+package com.alex.database.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+public class BookTitleIndexUnitTests {
+
+    private final BookTitleIndex underTest = new BookTitleIndex();
+
+    @Test
+    public void testThatTokenizeFoldsCaseAccentsAndPunctuation() {
+        assertThat(BookTitleIndex.tokenize("Café-Society: ÉCOLE  2nd")).containsExactly("cafe", "society", "ecole",
+                "2nd");
+    }
+
+    @Test
+    public void testThatSearchRequiresEveryTermAndRanksShorterTitlesFirst() {
+        underTest.put("1", "Java Concurrency in Practice");
+        underTest.put("2", "Java Concurrency");
+        underTest.put("3", "Java Puzzlers");
+
+        List<BookTitleIndex.Hit> hits = underTest.search("concurrency java", 10);
+
+        assertThat(hits).extracting(BookTitleIndex.Hit::isbn).containsExactly("2", "1");
+    }
+
+    @Test
+    public void testThatRepeatedTermsScoreHigher() {
+        underTest.put("1", "Go Go Go");
+        underTest.put("2", "Go Fast");
+
+        assertThat(underTest.search("go", 1)).extracting(BookTitleIndex.Hit::isbn).containsExactly("1");
+    }
+
+    @Test
+    public void testThatReplacedAndRemovedTitlesAreNotFound() {
+        underTest.put("1", "Java");
+        underTest.put("2", "Java");
+        underTest.put("1", "Kotlin");
+        underTest.remove("2");
+
+        assertThat(underTest.search("java", 10)).isEmpty();
+        assertThat(underTest.search("kotlin", 10)).extracting(BookTitleIndex.Hit::title).containsExactly("Kotlin");
+        assertThat(underTest.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatRewritingATitleDoesNotSkewItsScore() {
+        BookTitleIndex fresh = new BookTitleIndex();
+        fresh.put("1", "Java");
+        fresh.put("2", "Kotlin");
+        for (int i = 0; i < 50; i++) {
+            underTest.put("1", "Java");
+        }
+        underTest.put("2", "Kotlin");
+
+        List<BookTitleIndex.Hit> hits = underTest.search("java", 10);
+
+        assertThat(hits).extracting(BookTitleIndex.Hit::score).allSatisfy(score -> assertThat(score).isPositive());
+        assertThat(hits).isEqualTo(fresh.search("java", 10));
+    }
+
+    @Test
+    public void testThatCompactionKeepsLiveTitles() {
+        Map<String, String> titles = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            titles.put(String.valueOf(i), "Title " + i);
+        }
+        underTest.putAll(titles);
+        for (int i = 0; i < 4000; i++) {
+            underTest.remove(String.valueOf(i));
+        }
+
+        assertThat(underTest.size()).isEqualTo(1000);
+        assertThat(underTest.search("title", 2000)).hasSize(1000);
+        assertThat(underTest.search("title 4321", 10)).extracting(BookTitleIndex.Hit::isbn).containsExactly("4321");
+    }
+
+    @Test
+    public void testThatPrunedSearchMatchesAnExhaustiveOne() {
+        SplittableRandom random = new SplittableRandom(42);
+        Map<String, String> titles = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder title = new StringBuilder();
+            for (int word = random.nextInt(1, 7); word > 0; word--) {
+                title.append(" w").append((int) Math.pow(200, random.nextDouble()));
+            }
+            titles.put(String.valueOf(i), title.toString());
+        }
+        underTest.putAll(titles);
+
+        for (String query : List.of("w1", "w2", "w1 w2", "w1 w150", "w3 w5 w7")) {
+            List<BookTitleIndex.Hit> all = underTest.search(query, titles.size());
+            assertThat(underTest.search(query, 10)).as(query).isEqualTo(all.subList(0, Math.min(10, all.size())));
+        }
+    }
+}
@@ -5,29 +5,51 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.alex.database.TestDataUtil;
+import com.alex.database.concurrent.ReadThroughCache;
+import com.alex.database.config.CacheConfig;
 import com.alex.database.domain.entities.AuthorEntity;
 import com.alex.database.repositories.AuthorRepository;
 import com.alex.database.services.impl.AuthorServiceImpl;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
 @SpringBootTest
 public class AuthorServiceUnitTests {
 
     @Mock
     private AuthorRepository authorRepository;
 
-    @InjectMocks
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private AuthorServiceImpl authorService;
 
+    // Built by hand because @InjectMocks cannot supply the export fetch size or the caches.
+    @BeforeEach
+    public void setUp() {
+        authorService = new AuthorServiceImpl(authorRepository, entityManager, eventPublisher,
+                new ReadThroughCache<>(new ConcurrentMapCache(CacheConfig.AUTHORS_CACHE), Duration.ofSeconds(2),
+                        new SimpleMeterRegistry()),
+                new ConcurrentMapCache(CacheConfig.AUTHOR_AGE_HISTOGRAMS_CACHE), 1000);
+    }
+
     @Test
     public void testThatFindAll() {
 
@@ -35,12 +57,13 @@ public class AuthorServiceUnitTests {
         AuthorEntity authorB = TestDataUtil.createTestAuthor(2L, "Jess", 40);
         AuthorEntity authorC = TestDataUtil.createTestAuthor(3L, "Dora", 8);
         List<AuthorEntity> authors = new ArrayList<>(Arrays.asList(authorA, authorB, authorC));
-        when(authorService.findAll()).thenReturn(authors);
+        when(authorRepository.findAll()).thenReturn(authors);
 
         List<AuthorEntity> result = authorService.findAll();
 
         assertThat(result).hasSize(3).contains(authorA, authorB, authorC)
                 .doesNotContain(TestDataUtil.createTestAuthor(4L, "Haha", 1));
+        assertThat(result).extracting(AuthorEntity::getNumberOfBooks).containsOnly(0);
 
         verify(authorRepository, times(1)).findAll();
     }
@@ -0,0 +1,123 @@
+package com.alex.database.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.annotation.DirtiesContext;
+
+import com.alex.database.TestDataUtil;
+import com.alex.database.config.CacheConfig;
+import com.alex.database.domain.entities.BookEntity;
+import com.alex.database.repositories.BookRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Runs against the shipped cache configuration, so the flight has to coalesce in front of the cache.
+@SpringBootTest(properties = "app.single-flight.timeout=500ms")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class BookLookupCoalescingIntegrationTests {
+
+    private final BookService bookService;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @SpyBean
+    private BookRepository bookRepository;
+
+    @Autowired
+    public BookLookupCoalescingIntegrationTests(BookService bookService, MeterRegistry meterRegistry) {
+        this.bookService = bookService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testThatConcurrentMissesShareOneDatabaseLoad() throws Exception {
+        blockLoadsOf(TestDataUtil.createTestBook("123", "Java", null));
+
+        Future<Optional<BookEntity>> leader = executor.submit(() -> bookService.findOne("123"));
+        waitUntil(() -> loads.get() == 1);
+        List<Future<Optional<BookEntity>>> followers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            followers.add(executor.submit(() -> bookService.findOne("123")));
+        }
+        waitUntil(() -> counted("app.single-flight.coalesced") == 5);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).map(BookEntity::getTitle).hasValue("Java");
+        for (Future<Optional<BookEntity>> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).map(BookEntity::getTitle).hasValue("Java");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(bookService.findOne("123")).map(BookEntity::getTitle).hasValue("Java");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    public void testThatWaitersGiveUpOnASlowLoad() throws Exception {
+        blockLoadsOf(TestDataUtil.createTestBook("123", "Java", null));
+
+        Future<Optional<BookEntity>> leader = executor.submit(() -> bookService.findOne("123"));
+        waitUntil(() -> loads.get() == 1);
+        Future<Optional<BookEntity>> follower = executor.submit(() -> bookService.findOne("123"));
+
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(QueryTimeoutException.class);
+        assertThat(counted("app.single-flight.timeouts")).isEqualTo(1);
+
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).map(BookEntity::getTitle).hasValue("Java");
+    }
+
+    private void blockLoadsOf(BookEntity book) {
+        doAnswer(invocation -> {
+            loads.incrementAndGet();
+            release.await(10, TimeUnit.SECONDS);
+            return Optional.of(book);
+        }).when(bookRepository).findById(eq(book.getIsbn()));
+    }
+
+    private double counted(String meter) {
+        return meterRegistry.counter(meter, "flight", CacheConfig.BOOKS_CACHE).count();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5 s").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -1,10 +1,177 @@
 package com.alex.database.services;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 
+import com.alex.database.SqlStatementBudget;
+import com.alex.database.TestDataUtil;
+import com.alex.database.config.CacheConfig;
+import com.alex.database.domain.entities.AuthorEntity;
+import com.alex.database.domain.entities.BookEntity;
+import com.alex.database.jobs.AuthorBookCountReconciliationJob;
+import com.alex.database.metrics.SqlStatementCounter;
+import com.alex.database.metrics.SqlStatementCounts;
+import com.alex.database.repositories.AuthorRepository;
+
 @SpringBootTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
 public class BookServiceIntegrationTests {
 
+    private final BookService bookService;
+
+    private final AuthorService authorService;
+
+    private final AuthorRepository authorRepository;
+
+    private final AuthorBookCountReconciliationJob reconciliationJob;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Cache booksCache;
+
+    private final Cache authorsCache;
+
+    private final SqlStatementCounter sqlStatementCounter;
+
+    @Autowired
+    public BookServiceIntegrationTests(BookService bookService, AuthorService authorService,
+            AuthorRepository authorRepository, AuthorBookCountReconciliationJob reconciliationJob,
+            JdbcTemplate jdbcTemplate, CacheManager cacheManager, SqlStatementCounter sqlStatementCounter) {
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.authorRepository = authorRepository;
+        this.reconciliationJob = reconciliationJob;
+        this.jdbcTemplate = jdbcTemplate;
+        this.booksCache = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        this.authorsCache = cacheManager.getCache(CacheConfig.AUTHORS_CACHE);
+        this.sqlStatementCounter = sqlStatementCounter;
+    }
+
+    @Test
+    public void testThatBatchCreateOfNewBooksSelectsOncePerTable() throws Exception {
+        AuthorEntity jess = authorService.save(TestDataUtil.createTestAuthor(null, "Jess", 40));
+        List<BookEntity> books = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            books.add(TestDataUtil.createTestBook("isbn-" + i, "Title " + i,
+                    TestDataUtil.createTestAuthor(jess.getId(), "Jess", 40)));
+        }
+
+        SqlStatementCounts counts = SqlStatementBudget.count(sqlStatementCounter,
+                () -> bookService.createUpdateBooks(books));
+
+        assertThat(counts.getSelects()).as("SQL statements (%s)", counts).isEqualTo(2);
+        assertThat(authorRepository.findById(jess.getId()).orElseThrow().getNumberOfBooks()).isEqualTo(50);
+        assertThat(bookService.findOne("isbn-7").orElseThrow().getTitle()).isEqualTo("Title 7");
+    }
+
+    @Test
+    public void testThatFindOneIsCached() throws Exception {
+        AuthorEntity author = TestDataUtil.createTestAuthor(null, "Jess", 40);
+        BookEntity book = TestDataUtil.createTestBook("1234567890", "Java", author);
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        assertThat(booksCache.get(book.getIsbn())).isNull();
+        bookService.findOne(book.getIsbn());
+
+        assertThat(booksCache.get(book.getIsbn())).isNotNull();
+        SqlStatementCounts counts = SqlStatementBudget.count(sqlStatementCounter,
+                () -> bookService.findOne(book.getIsbn()));
+        assertThat(counts.getSelects()).as("SQL statements (%s)", counts).isZero();
+    }
+
+    @Test
+    public void testThatAnAuthorWriteKeepsCachedBooks() {
+        AuthorEntity jess = authorService.save(TestDataUtil.createTestAuthor(null, "Jess", 40));
+        bookService.createUpdateBook("1", TestDataUtil.createTestBook(null, "Java", jess));
+        bookService.findOne("1");
+
+        authorService.partialUpdate(jess.getId(), TestDataUtil.createTestAuthor(null, "Alex", null));
+
+        assertThat(booksCache.get("1")).isNotNull();
+        assertThat(authorsCache.get(jess.getId())).isNull();
+        assertThat(bookService.findOne("1").orElseThrow().getAuthorEntity().getName()).isEqualTo("Alex");
+    }
+
+    @Test
+    public void testThatABookWriteEvictsOnlyTheAuthorsItTouches() {
+        AuthorEntity jess = authorService.save(TestDataUtil.createTestAuthor(null, "Jess", 40));
+        AuthorEntity alex = authorService.save(TestDataUtil.createTestAuthor(null, "Alex", 30));
+        AuthorEntity dora = authorService.save(TestDataUtil.createTestAuthor(null, "Dora", 8));
+        bookService.createUpdateBook("1", TestDataUtil.createTestBook(null, "Java", jess));
+        bookService.createUpdateBook("2", TestDataUtil.createTestBook(null, "Rust", dora));
+        bookService.findOne("1");
+        bookService.findOne("2");
+        authorService.findOne(alex.getId());
+
+        bookService.partialUpdate("1", TestDataUtil.createTestBook(null, null, alex));
+
+        assertThat(booksCache.get("1")).isNull();
+        assertThat(authorsCache.get(jess.getId())).isNull();
+        assertThat(authorsCache.get(alex.getId())).isNull();
+        assertThat(booksCache.get("2")).isNotNull();
+        assertThat(authorsCache.get(dora.getId())).isNotNull();
+        assertThat(bookService.findOne("1").orElseThrow().getAuthorEntity().getNumberOfBooks()).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatWritesEvictCachedBook() {
+        AuthorEntity author = TestDataUtil.createTestAuthor(null, "Jess", 40);
+        BookEntity book = TestDataUtil.createTestBook("1234567890", "Java", author);
+        bookService.createUpdateBook(book.getIsbn(), book);
+        bookService.findOne(book.getIsbn());
+
+        bookService.partialUpdate(book.getIsbn(), TestDataUtil.createTestBook(null, "Rust", null));
+
+        assertThat(booksCache.get(book.getIsbn())).isNull();
+        assertThat(bookService.findOne(book.getIsbn())).get().extracting(BookEntity::getTitle).isEqualTo("Rust");
+
+        bookService.delete(book.getIsbn());
+
+        assertThat(bookService.findOne(book.getIsbn())).isEmpty();
+    }
+
+    @Test
+    public void testThatNumberOfBooksFollowsCreateAndReassign() {
+        AuthorEntity jess = authorService.save(TestDataUtil.createTestAuthor(null, "Jess", 40));
+        AuthorEntity alex = authorService.save(TestDataUtil.createTestAuthor(null, "Alex", 30));
+
+        BookEntity created = bookService.createUpdateBook("1", TestDataUtil.createTestBook(null, "Java", jess));
+        bookService.createUpdateBook("2", TestDataUtil.createTestBook(null, "Rust", jess));
+        bookService.createUpdateBook("2", TestDataUtil.createTestBook(null, "Rust 2nd Edition", jess));
+
+        assertThat(created.getAuthorEntity().getNumberOfBooks()).isEqualTo(1);
+        assertThat(numberOfBooks(jess)).isEqualTo(2);
+
+        BookEntity moved = bookService.partialUpdate("2", TestDataUtil.createTestBook(null, null, alex));
+
+        assertThat(moved.getAuthorEntity().getNumberOfBooks()).isEqualTo(1);
+        assertThat(numberOfBooks(jess)).isEqualTo(1);
+        assertThat(numberOfBooks(alex)).isEqualTo(1);
+    }
+
+    @Test
+    public void testThatReconciliationRepairsDrift() {
+        AuthorEntity jess = authorService.save(TestDataUtil.createTestAuthor(null, "Jess", 40));
+        bookService.createUpdateBook("1", TestDataUtil.createTestBook(null, "Java", jess));
+        jdbcTemplate.update("UPDATE authors SET number_of_books = 7");
+
+        reconciliationJob.reconcile();
+
+        assertThat(numberOfBooks(jess)).isEqualTo(1);
+    }
+
+    private int numberOfBooks(AuthorEntity author) {
+        return authorRepository.findById(author.getId()).orElseThrow().getNumberOfBooks();
+    }
+
 }
@@ -0,0 +1,14 @@
+-- The replica's copy of the schema Hibernate creates on the primary (ReplicaRoutingIntegrationTests).
+CREATE TABLE IF NOT EXISTS authors (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255),
+    age INTEGER,
+    version BIGINT DEFAULT 0 NOT NULL,
+    number_of_books INTEGER DEFAULT 0 NOT NULL
+);
+CREATE TABLE IF NOT EXISTS books (
+    isbn VARCHAR(255) PRIMARY KEY,
+    title VARCHAR(255),
+    version BIGINT DEFAULT 0 NOT NULL,
+    author_id BIGINT REFERENCES authors (id)
+);